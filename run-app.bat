@@ -4,10 +4,10 @@ echo Starting BakeryManager Pro...
 REM Set Java Home
 set JAVA_HOME=C:\Program Files\Eclipse Adoptium\jdk-21.0.9.10-hotspot
 
-REM JavaFX Module Path (adjust if needed)
-set JAVAFX_MODULES=javafx-sdk\javafx-sdk-21.0.1\lib\*
+REM Arhiva AppCDS (mvn -Pappcds package); daca lipseste sau nu se potriveste, JVM-ul o recreeaza la iesire
+set APPCDS=-XX:SharedArchiveFile=target\bakery-manager-pro.jsa -XX:+AutoCreateSharedArchive
 
-REM Run the application
-"%JAVA_HOME%\bin\java" --module-path "%JAVAFX_MODULES%" --add-modules javafx.controls,javafx.fxml -cp "target\bakery-manager-pro-1.0.0-jar-with-dependencies.jar" com.bakerymanager.BakeryApplication
+REM Run the application (aceeasi linie de comanda ca rularea de antrenament, altfel arhiva AppCDS nu se potriveste)
+"%JAVA_HOME%\bin\java" %APPCDS% -jar "target\bakery-manager-pro-1.0.0-jar-with-dependencies.jar"
 
 pause
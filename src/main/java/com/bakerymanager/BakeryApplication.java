@@ -1,42 +1,99 @@
 package com.bakerymanager;
 
-import com.bakerymanager.config.SpringFXMLLoader;
+import com.bakerymanager.utils.StartupMetrics;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.stage.StageStyle;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @SpringBootApplication
 @Component
 public class BakeryApplication extends Application {
     
-    private static ConfigurableApplicationContext context;
+    private static volatile ConfigurableApplicationContext context;
+    // Contextul Spring pornește din main(), în paralel cu toolkit-ul JavaFX
+    private static CompletableFuture<ConfigurableApplicationContext> contextFuture;
     private Parent root;
     
     @Override
     public void init() throws Exception {
-        SpringApplicationBuilder builder = new SpringApplicationBuilder(BakeryApplication.class);
-        builder.headless(false);
-        context = builder.run();
+        StartupMetrics.mark("toolkit JavaFX pornit");
+        if (contextFuture == null) {
+            startSpring(getParameters().getRaw().toArray(new String[0]));
+        }
     }
     
     @Override
     public void start(Stage primaryStage) throws Exception {
+        // Fereastra de start apare imediat; fereastra principală se construiește când e gata Spring
+        Stage splash = showSplash();
+        StartupMetrics.mark("splash afișat");
+    
+        contextFuture.whenComplete((readyContext, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                splash.close();
+                System.err.println("Error starting application: " + error.getMessage());
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Eroare");
+                alert.setHeaderText("Aplicația nu a putut porni");
+                alert.setContentText(error.getMessage());
+                alert.showAndWait();
+                Platform.exit();
+                return;
+            }
+            try {
+                showMainWindow(primaryStage);
+                splash.close();
+                StartupMetrics.mark("fereastra principală afișată");
+                StartupMetrics.report();
+            } catch (Exception e) {
+                System.err.println("Error loading main window: " + e.getMessage());
+                Platform.exit();
+            }
+        }));
+    }
+    
+    private Stage showSplash() {
+        Label title = new Label("BakeryManager Pro");
+        title.setStyle("-fx-font-size: 20px; -fx-font-weight: bold;");
+        ProgressBar progress = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+        progress.setPrefWidth(260);
+        Label status = new Label("Se pornește aplicația...");
+    
+        VBox box = new VBox(15, title, progress, status);
+        box.setAlignment(Pos.CENTER);
+        box.setStyle("-fx-background-color: white; -fx-border-color: #cccccc; -fx-padding: 30;");
+    
+        Stage splash = new Stage(StageStyle.UNDECORATED);
+        splash.setScene(new Scene(box, 360, 180));
+        splash.show();
+        return splash;
+    }
+    
+    private void showMainWindow(Stage primaryStage) throws Exception {
         FXMLLoader loader = new FXMLLoader();
         loader.setControllerFactory(context::getBean);
         loader.setLocation(getClass().getResource("/fxml/main_view.fxml"));
         root = loader.load();
-        
+    
         primaryStage.setTitle("BakeryManager Pro");
         primaryStage.setScene(new Scene(root, 1200, 800));
         primaryStage.show();
-        
+    
         primaryStage.setOnCloseRequest(event -> {
             Platform.exit();
             context.close();
@@ -45,14 +102,47 @@ public class BakeryApplication extends Application {
     
     @Override
     public void stop() throws Exception {
-        context.close();
+        if (context != null) {
+            context.close();
+        }
         Platform.exit();
     }
     
     public static void main(String[] args) {
+        StartupMetrics.mark("main");
+        if (Boolean.getBoolean("bakery.startup.training")) {
+            runTraining(args);
+            return;
+        }
+        startSpring(args);
         launch(args);
     }
     
+    private static void startSpring(String[] args) {
+        contextFuture = new CompletableFuture<>();
+        Thread springThread = new Thread(() -> {
+            try {
+                SpringApplicationBuilder builder = new SpringApplicationBuilder(BakeryApplication.class);
+                builder.headless(false);
+                context = builder.run(args);
+                StartupMetrics.mark("context Spring pregătit");
+                contextFuture.complete(context);
+            } catch (Throwable e) {
+                contextFuture.completeExceptionally(e);
+            }
+        }, "spring-startup");
+        springThread.start();
+    }
+    
+    // Rularea de antrenament pentru arhiva AppCDS (profilul Maven appcds): doar contextul Spring, fără ferestre
+    private static void runTraining(String[] args) {
+        try (ConfigurableApplicationContext trainingContext =
+                 new SpringApplicationBuilder(BakeryApplication.class).headless(true).run(args)) {
+            StartupMetrics.mark("context Spring pregătit");
+        }
+        StartupMetrics.report();
+    }
+    
     public static ConfigurableApplicationContext getApplicationContext() {
         return context;
     }
@@ -0,0 +1,10 @@
+package com.bakerymanager;
+
+// Punctul de intrare al JAR-ului cu toate dependențele: o clasă care nu extinde Application poate
+// porni JavaFX direct de pe classpath, fără --module-path (și permite rularea de antrenament AppCDS)
+public class Launcher {
+    
+    public static void main(String[] args) {
+        BakeryApplication.main(args);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bakerymanager.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id alocat în blocuri din number_sequences (seria "id:&lt;tabelă&gt;") în loc de IDENTITY,
+ * ca Hibernate să poată trimite INSERT-urile în batch-uri JDBC.
+ */
+@IdGeneratorType(BlockSequenceIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface BlockSequenceId {
+
+    int blockSize() default 100;
+}
@@ -0,0 +1,79 @@
+package com.bakerymanager.config;
+
+import com.bakerymanager.repository.NumberSequenceRepositoryImpl;
+import com.bakerymanager.utils.SequenceBlock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Generatorul pentru {@link BlockSequenceId}. Generatoarele tabelă/secvență din Hibernate rezervă
+ * pe o conexiune separată, care în modul WAL ar aștepta după singura conexiune de scriere;
+ * aici rezervarea se face pe conexiunea sesiunii, în tranzacția curentă. Ca la numerele de bon,
+ * blocul rezervat e folosit doar de tranzacția care l-a rezervat până la commit, iar la rollback e aruncat.
+ */
+public class BlockSequenceIdGenerator implements IdentifierGenerator {
+
+    private final String series;
+    private final String table;
+    private final int blockSize;
+
+    private final Queue<SequenceBlock> sharedBlocks = new ConcurrentLinkedQueue<>();
+    private final Map<SharedSessionContractImplementor, SequenceBlock> sessionBlocks = new ConcurrentHashMap<>();
+
+    public BlockSequenceIdGenerator(BlockSequenceId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.table = context.getPersistentClass().getTable().getName();
+        this.series = "id:" + table;
+        this.blockSize = config.blockSize();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entity) {
+        SequenceBlock head;
+        while ((head = sharedBlocks.peek()) != null) {
+            long value = head.take();
+            if (value > 0) {
+                return value;
+            }
+            sharedBlocks.remove(head);
+        }
+
+        SequenceBlock own = sessionBlocks.get(session);
+        if (own != null) {
+            long value = own.take();
+            if (value > 0) {
+                return value;
+            }
+        }
+
+        long first = session.doReturningWork(connection ->
+            NumberSequenceRepositoryImpl.reserveBlock(connection, series, blockSize, table));
+        SequenceBlock reserved = new SequenceBlock(first, first + blockSize);
+
+        if (!session.isTransactionInProgress()) {
+            // Autocommit: rezervarea e deja permanentă
+            sharedBlocks.add(reserved);
+            return generate(session, entity);
+        }
+        if (sessionBlocks.put(session, reserved) == null) {
+            session.asEventSource().getActionQueue().registerProcess((success, completedSession) -> {
+                SequenceBlock completed = sessionBlocks.remove(completedSession);
+                if (success && completed != null && completed.remaining() > 0) {
+                    sharedBlocks.add(completed);
+                }
+            });
+        }
+        return reserved.take();
+    }
+
+    @Override
+    public boolean supportsJdbcBatchInserts() {
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+package com.bakerymanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Mod WAL pentru SQLite: o singură conexiune de scriere (serializată) și un pool
+ * separat de conexiuni read-only pentru tranzacțiile {@code @Transactional(readOnly = true)}.
+ * Activat cu {@code bakery.datasource.mode=wal}; altfel rămâne pool-ul implicit Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bakery.datasource.mode", havingValue = "wal")
+public class SqliteDataSourceConfig {
+
+    // SQLITE_OPEN_READONLY - conexiunile de citire nu pot scrie în baza de date
+    private static final String SQLITE_OPEN_READONLY = "1";
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource writerDataSource(DataSourceProperties properties,
+                                             @Value("${bakery.datasource.busy-timeout:5000}") int busyTimeout) {
+        HikariDataSource writer = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        writer.setPoolName("sqlite-writer");
+        writer.setMaximumPoolSize(1);
+        writer.addDataSourceProperty("journal_mode", "WAL");
+        writer.addDataSourceProperty("synchronous", "NORMAL");
+        writer.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeout));
+        return writer;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readerDataSource(DataSourceProperties properties,
+                                             @Value("${bakery.datasource.reader-pool-size:4}") int readerPoolSize,
+                                             @Value("${bakery.datasource.busy-timeout:5000}") int busyTimeout) {
+        HikariDataSource reader = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        reader.setPoolName("sqlite-reader");
+        reader.setMaximumPoolSize(readerPoolSize);
+        reader.setReadOnly(true);
+        reader.addDataSourceProperty("open_mode", SQLITE_OPEN_READONLY);
+        reader.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeout));
+        return reader;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writerDataSource") DataSource writer,
+                                 @Qualifier("readerDataSource") DataSource reader) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(Route.WRITE, writer, Route.READ, reader));
+        routing.setDefaultTargetDataSource(writer);
+        routing.afterPropertiesSet();
+
+        // Conexiunea fizică e cerută abia la primul statement, când flag-ul read-only al tranzacției e deja setat
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private enum Route { READ, WRITE }
+
+    private static class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READ : Route.WRITE;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.bakerymanager.config;
+
+import com.bakerymanager.controller.RefreshableView;
+import com.bakerymanager.service.UiScheduler;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ecranele aplicației, parsate o singură dată din FXML și păstrate împreună cu controllerul lor.
+ * La revenirea pe un ecran se refolosește același Parent, iar controllerul (dacă e RefreshableView)
+ * își reîncarcă doar datele. Ecranele uzuale se preîncarcă după pornire, câte unul pe rând, ca
+ * firul JavaFX să rămână liber între ele. Ecranele nepreîncărcate, nedeschise de mult timp, ies din
+ * cache și se reîncarcă la următoarea deschidere. Folosit doar de pe firul JavaFX.
+ */
+@Component
+public class ViewRegistry {
+
+    public record View(Parent root, Object controller) {}
+
+    private final SpringFXMLLoader controllerFactory;
+    private final UiScheduler uiScheduler;
+    private final List<String> preloadViews;
+    private final long idleMillis;
+    private final Map<String, View> views = new HashMap<>();
+    private final Map<String, Long> lastShown = new HashMap<>();
+    private String currentView;
+
+    public ViewRegistry(SpringFXMLLoader controllerFactory,
+                        UiScheduler uiScheduler,
+                        @Value("${bakery.ui.preload-views:}") List<String> preloadViews,
+                        @Value("${bakery.ui.view-idle-minutes:30}") long idleMinutes) {
+        this.controllerFactory = controllerFactory;
+        this.uiScheduler = uiScheduler;
+        this.preloadViews = preloadViews;
+        this.idleMillis = idleMinutes * 60_000;
+    }
+
+    // Ecranul din cache (cu datele reîmprospătate) sau, la prima deschidere, încărcat acum
+    public View show(String fxmlPath) throws IOException {
+        currentView = fxmlPath;
+        lastShown.put(fxmlPath, System.currentTimeMillis());
+        View view = views.get(fxmlPath);
+        if (view == null) {
+            return load(fxmlPath);
+        }
+        if (view.controller() instanceof RefreshableView refreshable) {
+            refresh(fxmlPath, refreshable);
+        }
+        return view;
+    }
+
+    public void preloadDefaultViews() {
+        preload(new ArrayDeque<>(preloadViews));
+        if (idleMillis > 0) {
+            uiScheduler.onTick(60, this::expireIdleViews);
+        }
+    }
+
+    // Un ecran pe rând, fiecare într-un puls separat al firului JavaFX
+    private void preload(Deque<String> remaining) {
+        String fxmlPath = remaining.poll();
+        if (fxmlPath == null) {
+            return;
+        }
+        Platform.runLater(() -> {
+            if (!views.containsKey(fxmlPath)) {
+                try {
+                    long start = System.currentTimeMillis();
+                    load(fxmlPath);
+                    System.out.println("Ecran preîncărcat: " + fxmlPath + " în " + (System.currentTimeMillis() - start) + " ms");
+                } catch (Exception e) {
+                    System.err.println("Error preloading " + fxmlPath + ": " + e.getMessage());
+                }
+            }
+            preload(remaining);
+        });
+    }
+
+    // Următoarea deschidere reîncarcă FXML-ul de la zero
+    public void invalidate(String fxmlPath) {
+        views.remove(fxmlPath);
+        lastShown.remove(fxmlPath);
+    }
+
+    private void expireIdleViews() {
+        long now = System.currentTimeMillis();
+        views.keySet().removeIf(fxmlPath -> !fxmlPath.equals(currentView)
+            && !preloadViews.contains(fxmlPath)
+            && now - lastShown.getOrDefault(fxmlPath, now) > idleMillis);
+    }
+
+    private View load(String fxmlPath) throws IOException {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
+        loader.setControllerFactory(controllerFactory);
+        Parent root = loader.load();
+        View view = new View(root, loader.getController());
+        views.put(fxmlPath, view);
+        return view;
+    }
+
+    private void refresh(String fxmlPath, RefreshableView refreshable) {
+        try {
+            refreshable.refresh();
+        } catch (Exception e) {
+            System.err.println("Error refreshing " + fxmlPath + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.bakerymanager.controller;
 
-import com.bakerymanager.service.IngredientService;
-import com.bakerymanager.service.ProductService;
+import com.bakerymanager.dto.DashboardStats;
+import com.bakerymanager.service.AsyncServices;
+import com.bakerymanager.service.DashboardService;
+import com.bakerymanager.service.UiScheduler;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 
 import java.time.LocalDateTime;
@@ -16,12 +19,17 @@ import java.time.format.DateTimeFormatter;
 @Controller
 public class DashboardController {
     
-    private final ProductService productService;
-    private final IngredientService ingredientService;
-    
-    public DashboardController(ProductService productService, IngredientService ingredientService) {
-        this.productService = productService;
-        this.ingredientService = ingredientService;
+    private final DashboardService dashboardService;
+    private final AsyncServices asyncServices;
+    private final UiScheduler uiScheduler;
+    private final int refreshSeconds;
+    
+    public DashboardController(DashboardService dashboardService, AsyncServices asyncServices, UiScheduler uiScheduler,
+                               @Value("${bakery.ui.dashboard-refresh-seconds:30}") int refreshSeconds) {
+        this.dashboardService = dashboardService;
+        this.asyncServices = asyncServices;
+        this.uiScheduler = uiScheduler;
+        this.refreshSeconds = refreshSeconds;
     }
     
     @FXML
@@ -36,6 +44,9 @@ public class DashboardController {
     @FXML
     private Label todaySalesLabel;
     
+    @FXML
+    private Label lastUpdateLabel;
+    
     @FXML
     private TableView<ActivityRecord> activityTable;
     
@@ -92,15 +103,9 @@ public class DashboardController {
         activityTable.setItems(activityRecords);
     }
     
+    // Totalurile se recitesc la afișarea ecranului și apoi periodic, cât timp ecranul e deschis
     private void loadDashboardData() {
-        long productsInStock = productService.getAvailableProducts().size();
-        long ingredientsInStock = ingredientService.getAvailableIngredients().size();
-        long lowStockCount = ingredientService.getLowStockIngredients().size();
-        
-        productsInStockLabel.setText(String.valueOf(productsInStock));
-        ingredientsInStockLabel.setText(String.valueOf(ingredientsInStock));
-        lowStockLabel.setText(String.valueOf(lowStockCount));
-        todaySalesLabel.setText("0.00 lei");
+        uiScheduler.onTickWhileShowing(lastUpdateLabel, refreshSeconds, this::refresh);
         
         activityRecords.add(new ActivityRecord(
             LocalDateTime.now(),
@@ -110,6 +115,27 @@ public class DashboardController {
         ));
     }
     
+    // Doar totalurile, în fundal; istoricul de activitate rămâne
+    private void refresh() {
+        asyncServices.submit(dashboardService::getStatistics)
+            .whenComplete((stats, error) -> {
+                if (error != null) {
+                    System.err.println("Error refreshing dashboard: " + AsyncServices.errorMessage(error));
+                    return;
+                }
+                showStatistics(stats);
+            });
+    }
+    
+    private void showStatistics(DashboardStats stats) {
+        productsInStockLabel.setText(String.valueOf(stats.getProductsInStock()));
+        ingredientsInStockLabel.setText(String.valueOf(stats.getIngredientsInStock()));
+        lowStockLabel.setText(String.valueOf(stats.getLowStockIngredients()));
+        todaySalesLabel.setText(String.format("%.2f lei", stats.getTodaySalesTotal()));
+        lastUpdateLabel.setText("Ultima actualizare: " + 
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+    }
+    
     @FXML
     public void addStock() {
         activityRecords.add(0, new ActivityRecord(
@@ -1,8 +1,8 @@
 package com.bakerymanager.controller;
 
 import com.bakerymanager.entity.Ingredient;
+import com.bakerymanager.service.AsyncServices;
 import com.bakerymanager.service.IngredientService;
-import com.bakerymanager.service.InvoiceService;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -13,6 +13,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.GridPane;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Controller;
 
 import java.io.File;
@@ -20,18 +21,20 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
-public class InventoryController {
+@Lazy
+public class InventoryController implements RefreshableView {
     
-    private final IngredientService ingredientService;
-    private final InvoiceService invoiceService;
+    private final AsyncServices asyncServices;
     
-    public InventoryController(IngredientService ingredientService, InvoiceService invoiceService) {
-        this.ingredientService = ingredientService;
-        this.invoiceService = invoiceService;
+    public InventoryController(AsyncServices asyncServices) {
+        this.asyncServices = asyncServices;
     }
     
+    private record InventoryStats(int totalIngredients, int lowStockIngredients, BigDecimal totalValue) {}
+    
     @FXML
     private TextField searchField;
     
@@ -75,6 +78,9 @@ public class InventoryController {
     private Pagination pagination;
     
     private ObservableList<Ingredient> ingredientList = FXCollections.observableArrayList();
+    // Lista în curs de citire (toate ingredientele sau o căutare); o citire nouă o anulează pe cea veche,
+    // ca un rezultat întârziat să nu suprascrie tabelul
+    private CompletableFuture<List<Ingredient>> listLoad;
     
     @FXML
     public void initialize() {
@@ -103,22 +109,19 @@ public class InventoryController {
         stockColumn.setOnEditCommit(event -> {
             Ingredient ingredient = event.getRowValue();
             ingredient.setCurrentStock(event.getNewValue());
-            ingredientService.saveIngredient(ingredient);
-            updateStatistics();
+            saveEditedIngredient(ingredient);
         });
         
         minStockColumn.setOnEditCommit(event -> {
             Ingredient ingredient = event.getRowValue();
             ingredient.setMinimumStock(event.getNewValue());
-            ingredientService.saveIngredient(ingredient);
-            updateStatistics();
+            saveEditedIngredient(ingredient);
         });
         
         priceColumn.setOnEditCommit(event -> {
             Ingredient ingredient = event.getRowValue();
             ingredient.setLastPurchasePrice(event.getNewValue());
-            ingredientService.saveIngredient(ingredient);
-            updateStatistics();
+            saveEditedIngredient(ingredient);
         });
         
         setupActionsColumn();
@@ -162,38 +165,46 @@ public class InventoryController {
     
     @FXML
     public void searchIngredients() {
-        String searchTerm = searchField.getText().trim();
-        List<Ingredient> ingredients;
-        
-        if (searchTerm.isEmpty()) {
-            ingredients = ingredientService.getAllIngredients();
-        } else {
-            ingredients = ingredientService.searchIngredients(searchTerm);
-        }
-        
-        ingredientList.clear();
-        ingredientList.addAll(ingredients);
+        loadIngredients();
     }
     
     @FXML
     public void showAddIngredientDialog() {
         Dialog<Ingredient> dialog = createIngredientDialog(null);
-        dialog.showAndWait().ifPresent(ingredient -> {
-            ingredientService.saveIngredient(ingredient);
-            loadIngredients();
-            updateStatistics();
-            showSuccessMessage("Ingredient adăugat cu succes!");
-        });
+        dialog.showAndWait().ifPresent(ingredient -> saveIngredient(ingredient, "Ingredient adăugat cu succes!"));
     }
     
     private void showEditIngredientDialog(Ingredient ingredient) {
         Dialog<Ingredient> dialog = createIngredientDialog(ingredient);
-        dialog.showAndWait().ifPresent(updatedIngredient -> {
-            ingredientService.saveIngredient(updatedIngredient);
-            loadIngredients();
-            updateStatistics();
-            showSuccessMessage("Ingredient actualizat cu succes!");
-        });
+        dialog.showAndWait().ifPresent(updatedIngredient -> saveIngredient(updatedIngredient, "Ingredient actualizat cu succes!"));
+    }
+    
+    private void saveIngredient(Ingredient ingredient, String successMessage) {
+        asyncServices.ingredients(service -> service.saveIngredient(ingredient))
+            .whenComplete((saved, error) -> {
+                if (error != null) {
+                    System.err.println("Error saving ingredient: " + AsyncServices.errorMessage(error));
+                    showError("Eroare la salvarea ingredientului: " + AsyncServices.errorMessage(error));
+                    return;
+                }
+                loadIngredients();
+                updateStatistics();
+                showSuccessMessage(successMessage);
+            });
+    }
+    
+    // Editare direct în tabel: rândul afișează deja valoarea nouă, doar totalurile se recalculează
+    private void saveEditedIngredient(Ingredient ingredient) {
+        asyncServices.ingredients(service -> service.saveIngredient(ingredient))
+            .whenComplete((saved, error) -> {
+                if (error != null) {
+                    System.err.println("Error saving ingredient: " + AsyncServices.errorMessage(error));
+                    showError("Eroare la salvarea ingredientului: " + AsyncServices.errorMessage(error));
+                    loadIngredients();
+                    return;
+                }
+                updateStatistics();
+            });
     }
     
     private Dialog<Ingredient> createIngredientDialog(Ingredient ingredient) {
@@ -276,10 +287,19 @@ public class InventoryController {
         alert.setContentText("Ingredient: " + ingredient.getName());
         
         if (alert.showAndWait().get() == ButtonType.OK) {
-            ingredientService.deleteIngredient(ingredient.getId());
-            loadIngredients();
-            updateStatistics();
-            showSuccessMessage("Ingredient șters cu succes!");
+            asyncServices.ingredients(service -> {
+                service.deleteIngredient(ingredient.getId());
+                return ingredient.getId();
+            }).whenComplete((deletedId, error) -> {
+                if (error != null) {
+                    System.err.println("Error deleting ingredient: " + AsyncServices.errorMessage(error));
+                    showError("Eroare la ștergerea ingredientului: " + AsyncServices.errorMessage(error));
+                    return;
+                }
+                loadIngredients();
+                updateStatistics();
+                showSuccessMessage("Ingredient șters cu succes!");
+            });
         }
     }
     
@@ -288,43 +308,71 @@ public class InventoryController {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Selectează fișier XML SPV");
         fileChooser.getExtensionFilters().add(
-            new FileChooser.ExtensionFilter("XML Files", "*.xml")
+            new FileChooser.ExtensionFilter("e-Factura (XML, ZIP SPV)", "*.xml", "*.zip")
         );
         
         File file = fileChooser.showOpenDialog(new Stage());
         if (file != null) {
-            try {
-                javafx.scene.control.Alert alert = new javafx.scene.control.Alert(javafx.scene.control.Alert.AlertType.INFORMATION);
-                alert.setTitle("Informații");
-                alert.setHeaderText(null);
-                alert.setContentText("Import SPV - funcționalitate în dezvoltare");
-                alert.show();
-            } catch (Exception e) {
-                System.err.println("Error importing SPV invoice: " + e.getMessage());
-                showError("Eroare la importarea facturii: " + e.getMessage());
-            }
+            asyncServices.invoices(service -> service.importUBLInvoice(file.getAbsolutePath()))
+                .whenComplete((invoice, error) -> {
+                    if (error != null) {
+                        System.err.println("Error importing SPV invoice: " + AsyncServices.errorMessage(error));
+                        showError("Eroare la importarea facturii: " + AsyncServices.errorMessage(error));
+                        return;
+                    }
+                    loadIngredients();
+                    updateStatistics();
+                    showSuccessMessage("e-Factura " + invoice.getInvoiceNumber() + " importată (" + invoice.getNumberOfLines() + " linii)");
+                });
         }
     }
     
+    @Override
+    public void refresh() {
+        loadIngredients();
+        updateStatistics();
+    }
+    
+    // Reîncarcă tabelul respectând căutarea curentă
     private void loadIngredients() {
-        List<Ingredient> ingredients = ingredientService.getAllIngredients();
-        ingredientList.clear();
-        ingredientList.addAll(ingredients);
+        if (listLoad != null) {
+            listLoad.cancel(true);
+            listLoad = null;
+        }
+        String searchTerm = searchField.getText() == null ? "" : searchField.getText().trim();
+        CompletableFuture<List<Ingredient>> load = searchTerm.isEmpty()
+            ? asyncServices.ingredients(IngredientService::getAllIngredients)
+            : asyncServices.ingredients(service -> service.searchIngredients(searchTerm));
+        listLoad = load;
+        load.whenComplete((ingredients, error) -> {
+            if (load.isCancelled()) return;
+            listLoad = null;
+            if (error != null) {
+                System.err.println("Error loading ingredients: " + AsyncServices.errorMessage(error));
+                return;
+            }
+            ingredientList.setAll(ingredients);
+        });
     }
     
+    // Totalurile se calculează în fundal; etichetele se actualizează când sunt gata
     private void updateStatistics() {
-        List<Ingredient> ingredients = ingredientService.getAllIngredients();
-        List<Ingredient> lowStock = ingredientService.getLowStockIngredients();
-        
-        totalIngredientsLabel.setText(String.valueOf(ingredients.size()));
-        lowStockLabel.setText(String.valueOf(lowStock.size()));
-        
-        BigDecimal totalValue = ingredients.stream()
-            .filter(ing -> ing.getCurrentStock() != null && ing.getLastPurchasePrice() != null)
-            .map(ing -> ing.getCurrentStock().multiply(ing.getLastPurchasePrice()))
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        totalValueLabel.setText(String.format("%.2f lei", totalValue));
+        asyncServices.ingredients(service -> {
+            List<Ingredient> ingredients = service.getAllIngredients();
+            BigDecimal totalValue = ingredients.stream()
+                .filter(ing -> ing.getCurrentStock() != null && ing.getLastPurchasePrice() != null)
+                .map(ing -> ing.getCurrentStock().multiply(ing.getLastPurchasePrice()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            return new InventoryStats(ingredients.size(), service.getLowStockIngredients().size(), totalValue);
+        }).whenComplete((stats, error) -> {
+            if (error != null) {
+                System.err.println("Error updating inventory statistics: " + AsyncServices.errorMessage(error));
+                return;
+            }
+            totalIngredientsLabel.setText(String.valueOf(stats.totalIngredients()));
+            lowStockLabel.setText(String.valueOf(stats.lowStockIngredients()));
+            totalValueLabel.setText(String.format("%.2f lei", stats.totalValue()));
+        });
     }
     
     private BigDecimal calculateTotalValue(BigDecimal stock, BigDecimal price) {
@@ -1,39 +1,70 @@
 package com.bakerymanager.controller;
 
-import com.bakerymanager.dto.UBLInvoiceDto;
+import com.bakerymanager.dto.InvoiceImportResult;
 import com.bakerymanager.entity.Invoice;
+import com.bakerymanager.service.AsyncServices;
+import com.bakerymanager.service.InvoiceBulkImportService;
 import com.bakerymanager.service.InvoiceService;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.bakerymanager.service.SupplierItemMappingService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.HBox;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Controller;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
-public class InvoicesController {
+@Lazy
+public class InvoicesController implements RefreshableView {
     
-    private final InvoiceService invoiceService;
+    private final InvoiceBulkImportService invoiceBulkImportService;
+    private final SupplierItemMappingService supplierItemMappingService;
+    private final AsyncServices asyncServices;
     
-    public InvoicesController(InvoiceService invoiceService) {
-        this.invoiceService = invoiceService;
+    public InvoicesController(InvoiceBulkImportService invoiceBulkImportService,
+                              SupplierItemMappingService supplierItemMappingService, AsyncServices asyncServices) {
+        this.invoiceBulkImportService = invoiceBulkImportService;
+        this.supplierItemMappingService = supplierItemMappingService;
+        this.asyncServices = asyncServices;
     }
     
     @FXML
     private Label totalInvoicesLabel;
     
+    @FXML
+    private Button importSPVButton;
+    
+    @FXML
+    private Button importFolderButton;
+    
+    @FXML
+    private HBox importProgressBox;
+    
+    @FXML
+    private ProgressBar importProgressBar;
+    
+    @FXML
+    private Label importProgressLabel;
+    
     @FXML
     private Label spvInvoicesLabel;
     
@@ -63,11 +94,14 @@ public class InvoicesController {
     
     private ObservableList<Invoice> invoices = FXCollections.observableArrayList();
     
+    // Facturile cu o confirmare sau recepție în curs; butoanele rândului rămân dezactivate până la final
+    private final Set<Long> invoicesInFlight = new HashSet<>();
+    private CompletableFuture<List<Invoice>> invoicesLoad;
+    
     @FXML
     public void initialize() {
         setupTable();
         loadInvoices();
-        updateStatistics();
         System.out.println("Invoices controller initialized");
     }
     
@@ -79,14 +113,126 @@ public class InvoicesController {
                 param.getValue().getInvoiceDate().format(DateTimeFormatter.ofPattern("dd.MM.yyyy")) : ""));
         totalColumn.setCellValueFactory(new javafx.scene.control.cell.PropertyValueFactory<>("totalAmount"));
         spvColumn.setCellValueFactory(new javafx.scene.control.cell.PropertyValueFactory<>("isSpvImported"));
+        setupActionsColumn();
         
         invoicesTable.setItems(invoices);
     }
     
+    private void setupActionsColumn() {
+        actionsColumn.setCellFactory(param -> new TableCell<>() {
+            private final Button confirmButton = new Button("✔ Confirmă");
+            private final Button postButton = new Button("📦 Recepționează");
+            private final HBox buttons = new HBox(5);
+            
+            {
+                postButton.getStyleClass().addAll("button", "primary");
+                postButton.setTooltip(new Tooltip("Adaugă cantitățile facturii în stocul ingredientelor"));
+                postButton.setOnAction(event -> {
+                    Invoice invoice = getTableView().getItems().get(getIndex());
+                    postInvoice(invoice);
+                });
+                confirmButton.getStyleClass().addAll("button", "success");
+                confirmButton.setTooltip(new Tooltip("Confirmă maparea articolelor furnizorului pe ingrediente"));
+                confirmButton.setOnAction(event -> {
+                    Invoice invoice = getTableView().getItems().get(getIndex());
+                    confirmItemMappings(invoice);
+                });
+            }
+            
+            @Override
+            protected void updateItem(Void item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty) {
+                    setGraphic(null);
+                    return;
+                }
+                Invoice invoice = getTableView().getItems().get(getIndex());
+                boolean inFlight = invoicesInFlight.contains(invoice.getId());
+                confirmButton.setDisable(inFlight);
+                postButton.setDisable(inFlight);
+                buttons.getChildren().clear();
+                if (Boolean.TRUE.equals(invoice.getIsSpvImported())) {
+                    buttons.getChildren().add(confirmButton);
+                }
+                if (invoice.getPostedAt() == null) {
+                    buttons.getChildren().add(postButton);
+                }
+                setGraphic(buttons.getChildren().isEmpty() ? null : buttons);
+            }
+        });
+    }
+    
+    // Liniile confirmate devin mapări furnizor -> ingredient, folosite automat la următoarele importuri
+    private void confirmItemMappings(Invoice invoice) {
+        if (!startInvoiceAction(invoice)) {
+            return;
+        }
+        asyncServices.submit(() -> supplierItemMappingService.learnFromInvoice(invoice.getId()))
+            .whenComplete((learned, error) -> {
+                finishInvoiceAction(invoice);
+                if (error != null) {
+                    System.err.println("Error confirming item mappings: " + AsyncServices.errorMessage(error));
+                    showError("Eroare la confirmarea mapărilor: " + AsyncServices.errorMessage(error));
+                    return;
+                }
+                showSuccessMessage("Mapări salvate pentru " + learned + " articole ale furnizorului " + invoice.getSupplierName());
+            });
+    }
+    
+    // Recepția: stocul și prețurile ingredientelor se actualizează o singură dată pentru toată factura
+    private void postInvoice(Invoice invoice) {
+        if (!startInvoiceAction(invoice)) {
+            return;
+        }
+        asyncServices.invoices(service -> service.postInvoice(invoice.getId()))
+            .whenComplete((ingredients, error) -> {
+                finishInvoiceAction(invoice);
+                if (error != null) {
+                    System.err.println("Error posting invoice: " + AsyncServices.errorMessage(error));
+                    showError("Eroare la recepția facturii: " + AsyncServices.errorMessage(error));
+                    return;
+                }
+                loadInvoices();
+                showSuccessMessage("Factura " + invoice.getInvoiceNumber() + " a fost recepționată (" + ingredients + " ingrediente)");
+            });
+    }
+    
+    private boolean startInvoiceAction(Invoice invoice) {
+        if (!invoicesInFlight.add(invoice.getId())) {
+            return false;
+        }
+        invoicesTable.refresh();
+        return true;
+    }
+    
+    private void finishInvoiceAction(Invoice invoice) {
+        invoicesInFlight.remove(invoice.getId());
+        invoicesTable.refresh();
+    }
+    
+    @Override
+    public void refresh() {
+        loadInvoices();
+    }
+    
+    // Lista se citește în fundal; o reîncărcare nouă o anulează pe cea rămasă în curs
     private void loadInvoices() {
-        List<Invoice> invoiceList = invoiceService.getAllInvoices();
-        invoices.clear();
-        invoices.addAll(invoiceList);
+        if (invoicesLoad != null) {
+            invoicesLoad.cancel(true);
+            invoicesLoad = null;
+        }
+        CompletableFuture<List<Invoice>> load = asyncServices.invoices(InvoiceService::getAllInvoices);
+        invoicesLoad = load;
+        load.whenComplete((invoiceList, error) -> {
+            if (load.isCancelled()) return;
+            invoicesLoad = null;
+            if (error != null) {
+                System.err.println("Error loading invoices: " + AsyncServices.errorMessage(error));
+                return;
+            }
+            invoices.setAll(invoiceList);
+            updateStatistics();
+        });
     }
     
     private void updateStatistics() {
@@ -105,143 +251,96 @@ public class InvoicesController {
     
     @FXML
     public void importSPVInvoice() {
-        try {
-            // FileChooser pentru selectare XML
-            FileChooser fileChooser = new FileChooser();
-            fileChooser.setTitle("Importă e-Factură (XML)");
-            fileChooser.getExtensionFilters().add(
-                new FileChooser.ExtensionFilter("XML Files", "*.xml")
-            );
-            
-            File selectedFile = fileChooser.showOpenDialog(new Stage());
-            if (selectedFile == null) {
-                return; // Utilizatorul a anulat
-            }
-            
-            // Citim și parsăm XML-ul
-            XmlMapper xmlMapper = new XmlMapper();
-            UBLInvoiceDto invoiceDto;
-            
-            try (FileInputStream fis = new FileInputStream(selectedFile)) {
-                invoiceDto = xmlMapper.readValue(fis, UBLInvoiceDto.class);
-            }
-            
-            // Convertim DTO-ul în entitatea Invoice
-            Invoice invoice = convertDtoToInvoice(invoiceDto, selectedFile.getName());
-            
-            // Salvăm în baza de date
-            invoiceService.saveInvoice(invoice);
-            
-            // Actualizăm interfața
-            loadInvoices();
-            updateStatistics();
-            
-            showSuccessMessage("e-Factura importată cu succes!\n" +
-                "Număr: " + invoice.getInvoiceNumber() + "\n" +
-                "Furnizor: " + invoice.getSupplierName() + "\n" +
-                "Valoare: " + String.format("%.2f lei", invoice.getTotalAmount()));
-            
-        } catch (Exception e) {
-            System.err.println("Error importing SPV invoice: " + e.getMessage());
-            e.printStackTrace();
-            showError("Eroare la importarea e-facturii: " + e.getMessage());
-        }
-    }
-    
-    private Invoice convertDtoToInvoice(UBLInvoiceDto dto, String fileName) {
-        Invoice invoice = new Invoice();
+        // FileChooser pentru selectare XML
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Importă e-Factură (XML sau ZIP SPV)");
+        fileChooser.getExtensionFilters().add(
+            new FileChooser.ExtensionFilter("e-Factura (XML, ZIP SPV)", "*.xml", "*.zip")
+        );
         
-        // Număr factură
-        if (dto.getInvoiceNumber() != null) {
-            invoice.setInvoiceNumber(dto.getInvoiceNumber());
-        } else {
-            invoice.setInvoiceNumber("IMP_" + System.currentTimeMillis());
+        File selectedFile = fileChooser.showOpenDialog(new Stage());
+        if (selectedFile == null) {
+            return; // Utilizatorul a anulat
         }
         
-        // Data facturii
-        if (dto.getIssueDate() != null) {
-            try {
-                LocalDate invoiceDate = LocalDate.parse(dto.getIssueDate());
-                invoice.setInvoiceDate(invoiceDate.atStartOfDay());
-            } catch (Exception e) {
-                invoice.setInvoiceDate(LocalDateTime.now());
-            }
-        } else {
-            invoice.setInvoiceDate(LocalDateTime.now());
-        }
-        
-        // Furnizor
-        if (dto.getSupplierParty() != null && 
-            dto.getSupplierParty().getParty() != null) {
-            
-            StringBuilder supplierName = new StringBuilder();
-            
-            // Numele furnizorului
-            if (dto.getSupplierParty().getParty().getPartyNames() != null) {
-                for (UBLInvoiceDto.PartyName partyName : dto.getSupplierParty().getParty().getPartyNames()) {
-                    if (partyName.getName() != null) {
-                        if (supplierName.length() > 0) {
-                            supplierName.append(" ");
-                        }
-                        supplierName.append(partyName.getName());
-                    }
+        // Citirea arhivei, amprenta, parsarea și salvarea rulează în fundal
+        importSPVButton.setDisable(true);
+        asyncServices.invoices(service -> service.importUBLInvoice(selectedFile.getAbsolutePath()))
+            .whenComplete((invoice, error) -> {
+                importSPVButton.setDisable(false);
+                if (error != null) {
+                    System.err.println("Error importing SPV invoice: " + AsyncServices.errorMessage(error));
+                    error.printStackTrace();
+                    showError("Eroare la importarea e-facturii: " + AsyncServices.errorMessage(error));
+                    return;
                 }
-            }
-            
-            // CUI-ul
-            if (dto.getSupplierParty().getParty().getLegalEntity() != null &&
-                dto.getSupplierParty().getParty().getLegalEntity().getCompanyID() != null) {
                 
-                if (supplierName.length() > 0) {
-                    supplierName.append(" (CUI: ");
-                } else {
-                    supplierName.append("CUI: ");
-                }
-                supplierName.append(dto.getSupplierParty().getParty().getLegalEntity().getCompanyID());
-            }
-            
-            invoice.setSupplierName(supplierName.toString());
-        } else {
-            invoice.setSupplierName("Furnizor necunoscut");
-        }
-        
-        // Valoarea totală
-        if (dto.getMonetaryTotal() != null && 
-            dto.getMonetaryTotal().getTaxInclusiveAmount() != null &&
-            dto.getMonetaryTotal().getTaxInclusiveAmount().getValue() != null) {
-            
-            invoice.setTotalAmount(dto.getMonetaryTotal().getTaxInclusiveAmount().getValue());
-        } else {
-            invoice.setTotalAmount(BigDecimal.ZERO);
-        }
-        
-        // Moneda
-        if (dto.getCurrency() != null) {
-            invoice.setCurrency(dto.getCurrency());
-        } else {
-            invoice.setCurrency("RON");
+                // Actualizăm interfața
+                loadInvoices();
+                
+                showSuccessMessage("e-Factura importată cu succes!\n" +
+                    "Număr: " + invoice.getInvoiceNumber() + "\n" +
+                    "Furnizor: " + invoice.getSupplierName() + "\n" +
+                    "Valoare: " + String.format("%.2f lei", invoice.getTotalAmount()));
+            });
+    }
+    
+    @FXML
+    public void importSPVFolder() {
+        DirectoryChooser directoryChooser = new DirectoryChooser();
+        directoryChooser.setTitle("Selectează folderul cu e-Facturi (XML sau ZIP SPV)");
+        File folder = directoryChooser.showDialog(new Stage());
+        if (folder == null) {
+            return; // Utilizatorul a anulat
         }
         
-        // Marchăm ca import SPV
-        invoice.setIsSpvImported(true);
-        
-        // Data importului
-        invoice.setImportDate(LocalDateTime.now());
-        
-        // Numele fișierului sursă
-        invoice.setSourceFileName(fileName);
+        importFolderButton.setDisable(true);
+        importProgressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        importProgressLabel.setText("Se citesc fișierele din " + folder.getName() + "...");
+        importProgressBox.setVisible(true);
+        importProgressBox.setManaged(true);
         
-        // Status
-        invoice.setStatus("Importată");
-        
-        // Număr linii din factură
-        if (dto.getInvoiceLines() != null) {
-            invoice.setNumberOfLines(dto.getInvoiceLines().size());
-        } else {
-            invoice.setNumberOfLines(0);
+        // Importul rulează în fundal; interfața se actualizează după fiecare fișier
+        Thread importThread = new Thread(() -> {
+            try {
+                List<InvoiceImportResult> results = invoiceBulkImportService.importFolder(folder.toPath(),
+                    (result, completed, total) -> Platform.runLater(() -> {
+                        importProgressBar.setProgress((double) completed / total);
+                        importProgressLabel.setText(completed + " / " + total + " - " + result.getFileName());
+                    }));
+                Platform.runLater(() -> finishFolderImport(results));
+            } catch (Exception e) {
+                System.err.println("Error importing SPV folder: " + e.getMessage());
+                Platform.runLater(() -> {
+                    finishFolderImport(List.of());
+                    showError("Eroare la importul folderului: " + e.getMessage());
+                });
+            }
+        }, "invoice-bulk-import");
+        importThread.setDaemon(true);
+        importThread.start();
+    }
+    
+    private void finishFolderImport(List<InvoiceImportResult> results) {
+        importFolderButton.setDisable(false);
+        importProgressBox.setVisible(false);
+        importProgressBox.setManaged(false);
+        loadInvoices();
+        if (results.isEmpty()) {
+            return;
         }
         
-        return invoice;
+        long imported = results.stream().filter(r -> r.getStatus() == InvoiceImportResult.Status.IMPORTED).count();
+        long duplicates = results.stream().filter(r -> r.getStatus() == InvoiceImportResult.Status.DUPLICATE).count();
+        StringBuilder message = new StringBuilder()
+            .append("Fișiere procesate: ").append(results.size()).append("\n")
+            .append("Importate: ").append(imported).append("\n")
+            .append("Deja existente (sărite): ").append(duplicates).append("\n")
+            .append("Eșuate: ").append(results.size() - imported - duplicates);
+        results.stream()
+            .filter(r -> r.getStatus() == InvoiceImportResult.Status.FAILED)
+            .forEach(r -> message.append("\n • ").append(r.getFileName()).append(": ").append(r.getMessage()));
+        showSuccessMessage(message.toString());
     }
     
     @FXML
@@ -1,9 +1,12 @@
 package com.bakerymanager.controller;
 
+import com.bakerymanager.config.ViewRegistry;
+import com.bakerymanager.service.AsyncServices;
+import com.bakerymanager.service.UiScheduler;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.layout.StackPane;
 import org.springframework.stereotype.Controller;
 
@@ -14,6 +17,16 @@ import java.time.format.DateTimeFormatter;
 @Controller
 public class MainController {
     
+    private final AsyncServices asyncServices;
+    private final ViewRegistry viewRegistry;
+    private final UiScheduler uiScheduler;
+    
+    public MainController(AsyncServices asyncServices, ViewRegistry viewRegistry, UiScheduler uiScheduler) {
+        this.asyncServices = asyncServices;
+        this.viewRegistry = viewRegistry;
+        this.uiScheduler = uiScheduler;
+    }
+    
     @FXML
     private Label dateTimeLabel;
     
@@ -26,6 +39,9 @@ public class MainController {
     @FXML
     private Label connectionStatusLabel;
     
+    @FXML
+    private ProgressIndicator busyIndicator;
+    
     @FXML
     private StackPane contentPane;
     
@@ -33,22 +49,14 @@ public class MainController {
     
     @FXML
     public void initialize() {
-        updateDateTime();
-        startClock();
+        uiScheduler.onTick(1, this::updateDateTime);
+        // Vizibil cât timp rulează apeluri către baza de date în fundal
+        busyIndicator.visibleProperty().bind(asyncServices.busyBinding());
+        // După afișarea ferestrei: ecranele uzuale se încarcă din timp
+        Platform.runLater(viewRegistry::preloadDefaultViews);
         System.out.println("Main controller initialized successfully");
     }
     
-    private void startClock() {
-        javafx.animation.Timeline timeline = new javafx.animation.Timeline(
-            new javafx.animation.KeyFrame(
-                javafx.util.Duration.seconds(1),
-                event -> updateDateTime()
-            )
-        );
-        timeline.setCycleCount(javafx.animation.Timeline.INDEFINITE);
-        timeline.play();
-    }
-    
     private void updateDateTime() {
         dateTimeLabel.setText(LocalDateTime.now().format(timeFormatter));
     }
@@ -97,6 +105,17 @@ public class MainController {
         }
     }
     
+    @FXML
+    public void showSalesHistory() {
+        try {
+            loadView("/fxml/sales_history.fxml");
+            statusLabel.setText("Istoric Vânzări încărcat");
+        } catch (IOException e) {
+            System.err.println("Error loading sales history: " + e.getMessage());
+            showError("Eroare la încărcarea istoricului de vânzări");
+        }
+    }
+    
     @FXML
     public void showInvoices() {
         try {
@@ -137,11 +156,9 @@ public class MainController {
         System.exit(0);
     }
     
+    // Ecranul vine din ViewRegistry: FXML-ul se parsează o singură dată, la revenire se reîncarcă doar datele
     private void loadView(String fxmlPath) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-        loader.setControllerFactory(com.bakerymanager.BakeryApplication.getApplicationContext()::getBean);
-        Parent view = loader.load();
-        contentPane.getChildren().setAll(view);
+        contentPane.getChildren().setAll(viewRegistry.show(fxmlPath).root());
     }
     
     private void showError(String message) {
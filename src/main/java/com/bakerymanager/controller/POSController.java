@@ -1,15 +1,16 @@
 package com.bakerymanager.controller;
 
 import com.bakerymanager.entity.Product;
+import com.bakerymanager.service.AsyncServices;
 import com.bakerymanager.service.ProductService;
+import com.bakerymanager.service.SaleJournalService;
 import com.bakerymanager.service.SaleService;
+import com.bakerymanager.service.UiScheduler;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.scene.layout.TilePane;
-import javafx.scene.text.Font;
 import org.springframework.stereotype.Controller;
 
 import java.math.BigDecimal;
@@ -20,14 +21,16 @@ import java.util.List;
 import java.util.Optional;
 
 @Controller
-public class POSController {
+public class POSController implements RefreshableView {
     
-    private final ProductService productService;
-    private final SaleService saleService;
+    private final SaleJournalService saleJournalService;
+    private final AsyncServices asyncServices;
+    private final UiScheduler uiScheduler;
     
-    public POSController(ProductService productService, SaleService saleService) {
-        this.productService = productService;
-        this.saleService = saleService;
+    public POSController(SaleJournalService saleJournalService, AsyncServices asyncServices, UiScheduler uiScheduler) {
+        this.saleJournalService = saleJournalService;
+        this.asyncServices = asyncServices;
+        this.uiScheduler = uiScheduler;
     }
     
     @FXML
@@ -40,7 +43,7 @@ public class POSController {
     private ComboBox<String> categoryComboBox;
     
     @FXML
-    private TilePane productTilePane;
+    private ListView<List<Product>> productGridView;
     
     @FXML
     private TableView<CartItem> cartTable;
@@ -75,6 +78,9 @@ public class POSController {
     @FXML
     private Label changeLabel;
     
+    @FXML
+    private Button payButton;
+    
     @FXML
     private Label posStatusLabel;
     
@@ -82,7 +88,8 @@ public class POSController {
     private Label dailySalesLabel;
     
     private ObservableList<CartItem> cartItems = FXCollections.observableArrayList();
-    private List<Product> availableProducts;
+    private List<Product> availableProducts = List.of();
+    private ProductTileGrid productGrid;
     private BigDecimal dailySales = BigDecimal.ZERO;
     
     public static class CartItem {
@@ -115,6 +122,7 @@ public class POSController {
     public void initialize() {
         setupPaymentMethods();
         setupCartTable();
+        productGrid = new ProductTileGrid(productGridView, this::addToCart);
         setupSearchField();
         loadProducts();
         startClock();
@@ -171,20 +179,15 @@ public class POSController {
     }
     
     private void setupSearchField() {
+        // Filtrarea lucrează pe indexul de nume al grilei; nu se recreează butoane la fiecare tastă
         searchProductField.textProperty().addListener((observable, oldValue, newValue) -> {
-            filterProducts(newValue);
+            productGrid.filter(newValue);
         });
     }
     
+    // Ceasul comun al aplicației, activ doar cât ecranul POS e afișat
     private void startClock() {
-        javafx.animation.Timeline timeline = new javafx.animation.Timeline(
-            new javafx.animation.KeyFrame(
-                javafx.util.Duration.seconds(1),
-                event -> updateClock()
-            )
-        );
-        timeline.setCycleCount(javafx.animation.Timeline.INDEFINITE);
-        timeline.play();
+        uiScheduler.onTickWhileShowing(currentTimeLabel, 1, this::updateClock);
     }
     
     private void updateClock() {
@@ -193,50 +196,23 @@ public class POSController {
     
     @FXML
     public void loadProducts() {
-        availableProducts = productService.getAvailableProducts();
-        displayProducts(availableProducts);
-        posStatusLabel.setText("Produse încărcate: " + availableProducts.size());
-    }
-    
-    private void displayProducts(List<Product> products) {
-        productTilePane.getChildren().clear();
-        
-        for (Product product : products) {
-            Button productButton = createProductButton(product);
-            productTilePane.getChildren().add(productButton);
-        }
-    }
-    
-    private Button createProductButton(Product product) {
-        Button button = new Button();
-        button.getStyleClass().add("pos-product-button");
-        button.setText(product.getName() + "\n" + product.getSalePrice() + " lei");
-        button.setPrefSize(140, 80);
-        button.setWrapText(true);
-        button.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
-        button.setFont(Font.font(12));
-        
-        button.setOnAction(event -> addToCart(product));
-        
-        if (product.getPhysicalStock().compareTo(BigDecimal.ONE) < 0) {
-            button.setDisable(true);
-            button.setText(product.getName() + "\nStoc epuizat");
-        }
-        
-        return button;
+        asyncServices.products(ProductService::getAvailableProducts)
+            .whenComplete((products, error) -> {
+                if (error != null) {
+                    System.err.println("Eroare la încărcarea produselor: " + AsyncServices.errorMessage(error));
+                    posStatusLabel.setText("Eroare la încărcarea produselor");
+                    return;
+                }
+                availableProducts = products;
+                productGrid.setProducts(products, searchProductField.getText());
+                posStatusLabel.setText("Produse încărcate: " + availableProducts.size());
+            });
     }
     
-    private void filterProducts(String searchText) {
-        if (searchText == null || searchText.trim().isEmpty()) {
-            displayProducts(availableProducts);
-            return;
-        }
-        
-        List<Product> filtered = availableProducts.stream()
-            .filter(product -> product.getName().toLowerCase().contains(searchText.toLowerCase()))
-            .toList();
-        
-        displayProducts(filtered);
+    // Coșul și căutarea rămân; se reîncarcă doar produsele (stoc, prețuri)
+    @Override
+    public void refresh() {
+        loadProducts();
     }
     
     @FXML
@@ -322,34 +298,45 @@ public class POSController {
                 ))
                 .toList();
             
-            // Salvare vânzare în baza de date
             String paymentMethod = paymentMethodCombo.getValue();
             String operator = "Operator"; // Poate fi preluat din sistem de login
             
-            com.bakerymanager.entity.Sale savedSale = saleService.createSale(
-                saleCartItems, 
-                paymentMethod, 
-                amountReceived, 
-                operator
-            );
-            
-            // Actualizare statistici locale
-            dailySales = dailySales.add(total);
-            dailySalesLabel.setText(String.format("%.2f lei", dailySales));
-            
-            // Golire coș
-            cartItems.clear();
-            updateCartSummary();
-            amountReceivedField.clear();
-            
-            posStatusLabel.setText("✅ Vânzare finalizată cu succes! ID: " + savedSale.getId());
-            showSuccessMessage("Plată procesată cu succes!\n" +
-                "ID Vânzare: " + savedSale.getId() + "\n" +
-                "Total: " + total + " lei\n" +
-                "Rest: " + amountReceived.subtract(total).setScale(2, RoundingMode.HALF_UP) + " lei");
+            if (saleJournalService.isEnabled()) {
+                completeJournaledSale(saleCartItems, paymentMethod, amountReceived, operator, total);
+                return;
+            }
             
-            // Reîncărcare produse pentru a actualiza stocurile afișate
-            loadProducts();
+            // Salvare vânzare în baza de date, în fundal; coșul și încasarea sunt blocate până la răspuns
+            setPaymentInProgress(true);
+            posStatusLabel.setText("⏳ Se procesează plata...");
+            asyncServices.sales(service -> service.createSale(saleCartItems, paymentMethod, amountReceived, operator))
+                .whenComplete((savedSale, error) -> {
+                    setPaymentInProgress(false);
+                    if (error != null) {
+                        System.err.println("Eroare la procesarea plății: " + AsyncServices.errorMessage(error));
+                        posStatusLabel.setText("Eroare la procesarea plății");
+                        showError("Eroare la procesarea plății: " + AsyncServices.errorMessage(error));
+                        return;
+                    }
+                    
+                    // Actualizare statistici locale
+                    dailySales = dailySales.add(total);
+                    dailySalesLabel.setText(String.format("%.2f lei", dailySales));
+                    
+                    // Golire coș
+                    cartItems.clear();
+                    updateCartSummary();
+                    amountReceivedField.clear();
+                    
+                    posStatusLabel.setText("✅ Vânzare finalizată cu succes! ID: " + savedSale.getId());
+                    showSuccessMessage("Plată procesată cu succes!\n" +
+                        "ID Vânzare: " + savedSale.getId() + "\n" +
+                        "Total: " + total + " lei\n" +
+                        "Rest: " + amountReceived.subtract(total).setScale(2, RoundingMode.HALF_UP) + " lei");
+                    
+                    // Reîncărcare produse pentru a actualiza stocurile afișate
+                    loadProducts();
+                });
             
         } catch (NumberFormatException e) {
             showError("Sumă primită invalidă!");
@@ -359,6 +346,47 @@ public class POSController {
         }
     }
     
+    private void setPaymentInProgress(boolean inProgress) {
+        payButton.setDisable(inProgress);
+        productGridView.setDisable(inProgress);
+        cartTable.setDisable(inProgress);
+    }
+    
+    // Vânzarea se scrie în jurnal și se confirmă imediat; baza de date e actualizată în fundal
+    private void completeJournaledSale(List<SaleService.CartItem> saleCartItems, String paymentMethod,
+                                       BigDecimal amountReceived, String operator, BigDecimal total) {
+        // Stocul nu mai e verificat sincron în baza de date, deci se verifică pe produsele afișate
+        for (CartItem item : cartItems) {
+            if (item.getQuantity().compareTo(item.getProduct().getPhysicalStock()) > 0) {
+                showError("Stoc insuficient pentru: " + item.getProductName());
+                return;
+            }
+        }
+        
+        long journalNumber = saleJournalService.submit(saleCartItems, paymentMethod, amountReceived, operator);
+        
+        // Stocul afișat se actualizează local, până la următoarea reîncărcare din baza de date
+        for (CartItem item : cartItems) {
+            Product product = item.getProduct();
+            product.setPhysicalStock(product.getPhysicalStock().subtract(item.getQuantity()));
+        }
+        
+        dailySales = dailySales.add(total);
+        dailySalesLabel.setText(String.format("%.2f lei", dailySales));
+        
+        cartItems.clear();
+        updateCartSummary();
+        amountReceivedField.clear();
+        productGrid.refreshTiles();
+        
+        posStatusLabel.setText("✅ Vânzare înregistrată! Nr. jurnal: JRN-" + journalNumber
+            + " (în așteptare: " + saleJournalService.getPendingCount() + ")");
+        showSuccessMessage("Plată procesată cu succes!\n" +
+            "Nr. jurnal: JRN-" + journalNumber + "\n" +
+            "Total: " + total + " lei\n" +
+            "Rest: " + amountReceived.subtract(total).setScale(2, RoundingMode.HALF_UP) + " lei");
+    }
+    
     @FXML
     public void printReceipt() {
         if (cartItems.isEmpty()) {
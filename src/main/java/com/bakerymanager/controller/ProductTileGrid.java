@@ -0,0 +1,184 @@
+package com.bakerymanager.controller;
+
+import com.bakerymanager.entity.Product;
+import com.bakerymanager.utils.TextNormalizer;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Button;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Grila de produse din POS, virtualizată: un ListView ale cărui rânduri sunt grupuri de produse
+ * cât încap pe lățime, deci se construiesc doar rândurile vizibile, iar butoanele lor se refolosesc
+ * la derulare și la filtrare. Numele se pliază o singură dată, la încărcarea produselor
+ * (TextNormalizer.fold); când textul căutat doar se prelungește se filtrează rezultatul anterior,
+ * iar rândurile se regrupează doar dacă lista potrivită s-a schimbat.
+ */
+public class ProductTileGrid {
+
+    private static final double TILE_WIDTH = 140;
+    private static final double TILE_HEIGHT = 80;
+    private static final double GAP = 10;
+    // Bara de derulare verticală și marginile ListView-ului
+    private static final double SCROLLBAR_ALLOWANCE = 20;
+
+    private final ListView<List<Product>> listView;
+    private final Consumer<Product> onSelect;
+    private final ObservableList<List<Product>> rows = FXCollections.observableArrayList();
+
+    // Indexul de căutare, paralel cu products
+    private List<Product> products = List.of();
+    private String[] foldedNames = new String[0];
+
+    // Pozițiile din products care se potrivesc cu lastQuery, în ordinea catalogului
+    private int[] matches = new int[0];
+    private int matchCount;
+    private String lastQuery = "";
+    private int columns = 1;
+
+    public ProductTileGrid(ListView<List<Product>> listView, Consumer<Product> onSelect) {
+        this.listView = listView;
+        this.onSelect = onSelect;
+
+        listView.getStyleClass().add("pos-product-grid");
+        listView.setItems(rows);
+        listView.setFixedCellSize(TILE_HEIGHT + GAP);
+        listView.setCellFactory(view -> new ProductRowCell());
+        listView.widthProperty().addListener((observable, oldWidth, newWidth) -> updateColumns(newWidth.doubleValue()));
+    }
+
+    // Produse noi (încărcare sau reîncărcare): se reface indexul și se aplică din nou căutarea curentă
+    public void setProducts(List<Product> products, String searchText) {
+        this.products = products;
+        foldedNames = new String[products.size()];
+        for (int i = 0; i < foldedNames.length; i++) {
+            foldedNames[i] = TextNormalizer.fold(products.get(i).getName());
+        }
+
+        lastQuery = TextNormalizer.fold(searchText);
+        matches = new int[products.size()];
+        matchCount = 0;
+        for (int i = 0; i < foldedNames.length; i++) {
+            if (foldedNames[i].contains(lastQuery)) {
+                matches[matchCount++] = i;
+            }
+        }
+        rebuildRows();
+    }
+
+    public void filter(String searchText) {
+        String query = TextNormalizer.fold(searchText);
+        if (query.equals(lastQuery)) {
+            return;
+        }
+
+        // Textul prelungit poate doar elimina produse, deci se caută în rezultatul anterior
+        boolean narrowing = query.startsWith(lastQuery);
+        int sourceCount = narrowing ? matchCount : foldedNames.length;
+        int[] next = new int[sourceCount];
+        int nextCount = 0;
+        for (int i = 0; i < sourceCount; i++) {
+            int index = narrowing ? matches[i] : i;
+            if (foldedNames[index].contains(query)) {
+                next[nextCount++] = index;
+            }
+        }
+        lastQuery = query;
+
+        boolean unchanged = narrowing
+            ? nextCount == matchCount
+            : Arrays.equals(matches, 0, matchCount, next, 0, nextCount);
+        matches = next;
+        matchCount = nextCount;
+        if (!unchanged) {
+            rebuildRows();
+        }
+    }
+
+    // Stocul sau prețurile produselor afișate s-au schimbat local (ex. după o vânzare)
+    public void refreshTiles() {
+        listView.refresh();
+    }
+
+    private void updateColumns(double width) {
+        int fitting = (int) ((width - SCROLLBAR_ALLOWANCE + GAP) / (TILE_WIDTH + GAP));
+        int newColumns = Math.max(1, fitting);
+        if (newColumns != columns) {
+            columns = newColumns;
+            rebuildRows();
+        }
+    }
+
+    private void rebuildRows() {
+        List<List<Product>> grouped = new ArrayList<>((matchCount + columns - 1) / columns);
+        for (int start = 0; start < matchCount; start += columns) {
+            int end = Math.min(start + columns, matchCount);
+            List<Product> row = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                row.add(products.get(matches[i]));
+            }
+            grouped.add(row);
+        }
+        rows.setAll(grouped);
+    }
+
+    // Un rând al grilei; butoanele create o dată se refolosesc pentru orice produs ajuns pe rând
+    private final class ProductRowCell extends ListCell<List<Product>> {
+        private final HBox tileBox = new HBox(GAP);
+        private final List<Button> tiles = new ArrayList<>();
+
+        @Override
+        protected void updateItem(List<Product> row, boolean empty) {
+            super.updateItem(row, empty);
+            setText(null);
+            if (empty || row == null) {
+                setGraphic(null);
+                return;
+            }
+
+            while (tiles.size() < row.size()) {
+                tiles.add(createTile());
+            }
+            if (tileBox.getChildren().size() != row.size()) {
+                tileBox.getChildren().setAll(tiles.subList(0, row.size()));
+            }
+            for (int i = 0; i < row.size(); i++) {
+                showProduct(tiles.get(i), row.get(i));
+            }
+            setGraphic(tileBox);
+        }
+
+        private Button createTile() {
+            Button button = new Button();
+            button.getStyleClass().add("pos-product-button");
+            button.setPrefSize(TILE_WIDTH, TILE_HEIGHT);
+            button.setMinSize(TILE_WIDTH, TILE_HEIGHT);
+            button.setWrapText(true);
+            button.setTextAlignment(TextAlignment.CENTER);
+            button.setFont(Font.font(12));
+            button.setOnAction(event -> onSelect.accept((Product) button.getUserData()));
+            return button;
+        }
+
+        private void showProduct(Button button, Product product) {
+            button.setUserData(product);
+            if (product.getPhysicalStock().compareTo(BigDecimal.ONE) < 0) {
+                button.setText(product.getName() + "\nStoc epuizat");
+                button.setDisable(true);
+            } else {
+                button.setText(product.getName() + "\n" + product.getSalePrice() + " lei");
+                button.setDisable(false);
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.bakerymanager.controller;
 
+import com.bakerymanager.dto.ProductionReport;
+import com.bakerymanager.dto.RecipeLineView;
 import com.bakerymanager.entity.Product;
-import com.bakerymanager.entity.RecipeItem;
 import com.bakerymanager.entity.Ingredient;
+import com.bakerymanager.service.AsyncServices;
 import com.bakerymanager.service.IngredientService;
 import com.bakerymanager.service.ProductionService;
 import com.bakerymanager.service.ProductService;
@@ -14,27 +16,34 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 import javafx.geometry.Insets;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Controller;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
-public class ProductionController {
+@Lazy
+public class ProductionController implements RefreshableView {
     
     private final ProductionService productionService;
     private final ProductService productService;
     private final IngredientService ingredientService;
+    private final AsyncServices asyncServices;
     
     public ProductionController(ProductionService productionService, 
                               ProductService productService,
-                              IngredientService ingredientService) {
+                              IngredientService ingredientService,
+                              AsyncServices asyncServices) {
         this.productionService = productionService;
         this.productService = productService;
         this.ingredientService = ingredientService;
+        this.asyncServices = asyncServices;
     }
     
     @FXML
@@ -43,6 +52,12 @@ public class ProductionController {
     @FXML
     private TextField quantityField;
     
+    @FXML
+    private Button executeProductionButton;
+    
+    @FXML
+    private Button checkStockButton;
+    
     @FXML
     private Label productionStatusLabel;
     
@@ -50,22 +65,22 @@ public class ProductionController {
     private Label stockStatusLabel;
     
     @FXML
-    private TableView<RecipeItem> recipeTable;
+    private TableView<RecipeLineView> recipeTable;
     
     @FXML
-    private TableColumn<RecipeItem, String> recipeIngredientColumn;
+    private TableColumn<RecipeLineView, String> recipeIngredientColumn;
     
     @FXML
-    private TableColumn<RecipeItem, BigDecimal> recipeQuantityColumn;
+    private TableColumn<RecipeLineView, BigDecimal> recipeQuantityColumn;
     
     @FXML
-    private TableColumn<RecipeItem, String> recipeUnitColumn;
+    private TableColumn<RecipeLineView, String> recipeUnitColumn;
     
     @FXML
-    private TableColumn<RecipeItem, BigDecimal> recipeAvailableColumn;
+    private TableColumn<RecipeLineView, BigDecimal> recipeAvailableColumn;
     
     @FXML
-    private TableColumn<RecipeItem, Void> recipeActionsColumn;
+    private TableColumn<RecipeLineView, Void> recipeActionsColumn;
     
     @FXML
     private TableView<ProductionRecord> productionHistoryTable;
@@ -85,9 +100,11 @@ public class ProductionController {
     @FXML
     private Label productionInfoLabel;
     
-    private ObservableList<RecipeItem> recipeItems = FXCollections.observableArrayList();
+    private ObservableList<RecipeLineView> recipeItems = FXCollections.observableArrayList();
     private ObservableList<ProductionRecord> productionHistory = FXCollections.observableArrayList();
     private Product selectedProduct;
+    // Rețeta în curs de citire; alegerea altui produs o anulează, ca rețeta veche să nu ajungă în tabel
+    private CompletableFuture<List<RecipeLineView>> recipeLoad;
     
     public static class ProductionRecord {
         private LocalDateTime date;
@@ -152,59 +169,11 @@ public class ProductionController {
     }
     
     private void setupRecipeTable() {
-        recipeIngredientColumn.setCellValueFactory(param -> {
-            RecipeItem item = param.getValue();
-            try {
-                if (item != null && item.getIngredient() != null) {
-                    return new javafx.beans.property.SimpleStringProperty(item.getIngredient().getName());
-                } else if (item != null && item.getIngredientId() != null) {
-                    // Încercăm să încărcăm ingredientul după ID dacă e lazy loaded
-                    Ingredient ingredient = ingredientService.getIngredientById(item.getIngredientId()).orElse(null);
-                    if (ingredient != null) {
-                        return new javafx.beans.property.SimpleStringProperty(ingredient.getName());
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("Eroare la afișare ingredient: " + e.getMessage());
-            }
-            return new javafx.beans.property.SimpleStringProperty("Ingredient necunoscut");
-        });
-        
-        recipeQuantityColumn.setCellValueFactory(new javafx.scene.control.cell.PropertyValueFactory<>("requiredQuantity"));
-        
-        recipeUnitColumn.setCellValueFactory(param -> {
-            RecipeItem item = param.getValue();
-            try {
-                if (item != null && item.getIngredient() != null) {
-                    return new javafx.beans.property.SimpleStringProperty(item.getIngredient().getUnitOfMeasure().getDisplayName());
-                } else if (item != null && item.getIngredientId() != null) {
-                    Ingredient ingredient = ingredientService.getIngredientById(item.getIngredientId()).orElse(null);
-                    if (ingredient != null) {
-                        return new javafx.beans.property.SimpleStringProperty(ingredient.getUnitOfMeasure().getDisplayName());
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("Eroare la afișare unitate: " + e.getMessage());
-            }
-            return new javafx.beans.property.SimpleStringProperty("-");
-        });
-        
-        recipeAvailableColumn.setCellValueFactory(param -> {
-            RecipeItem item = param.getValue();
-            try {
-                if (item != null && item.getIngredient() != null) {
-                    return new javafx.beans.property.SimpleObjectProperty<>(item.getIngredient().getCurrentStock());
-                } else if (item != null && item.getIngredientId() != null) {
-                    Ingredient ingredient = ingredientService.getIngredientById(item.getIngredientId()).orElse(null);
-                    if (ingredient != null) {
-                        return new javafx.beans.property.SimpleObjectProperty<>(ingredient.getCurrentStock());
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("Eroare la afișare stoc: " + e.getMessage());
-            }
-            return new javafx.beans.property.SimpleObjectProperty<>(BigDecimal.ZERO);
-        });
+        // Toate valorile vin din RecipeLineView, fără încărcări lazy pe firul JavaFX
+        recipeIngredientColumn.setCellValueFactory(new PropertyValueFactory<>("ingredientName"));
+        recipeQuantityColumn.setCellValueFactory(new PropertyValueFactory<>("requiredQuantity"));
+        recipeUnitColumn.setCellValueFactory(new PropertyValueFactory<>("unit"));
+        recipeAvailableColumn.setCellValueFactory(new PropertyValueFactory<>("availableStock"));
         
         setupRecipeActionsColumn();
         
@@ -218,7 +187,7 @@ public class ProductionController {
             {
                 removeButton.getStyleClass().addAll("button", "danger");
                 removeButton.setOnAction(event -> {
-                    RecipeItem item = getTableView().getItems().get(getIndex());
+                    RecipeLineView item = getTableView().getItems().get(getIndex());
                     removeRecipeItem(item);
                 });
             }
@@ -244,6 +213,25 @@ public class ProductionController {
         productionHistoryTable.setItems(productionHistory);
     }
     
+    // Produsele se recitesc, iar produsul selectat rămâne selectat, cu stocul și rețeta actualizate
+    @Override
+    public void refresh() {
+        Long selectedId = selectedProduct != null ? selectedProduct.getId() : null;
+        loadProducts();
+        if (selectedId == null) {
+            return;
+        }
+        for (Product p : productComboBox.getItems()) {
+            if (p.getId().equals(selectedId)) {
+                productComboBox.setValue(p);
+                selectedProduct = p;
+                loadRecipe();
+                updateProductionInfo();
+                break;
+            }
+        }
+    }
+    
     private void loadProducts() {
         List<Product> products = productService.getActiveProducts();
         System.out.println("Produse disponibile: " + products.size());
@@ -254,23 +242,25 @@ public class ProductionController {
     }
     
     private void loadRecipe() {
+        if (recipeLoad != null) {
+            recipeLoad.cancel(true);
+            recipeLoad = null;
+        }
         if (selectedProduct != null) {
-            List<RecipeItem> items = productionService.getRecipeByProduct(selectedProduct);
-            recipeItems.clear();
-            
-            // Debug: Afișăm ce am găsit
-            System.out.println("Rețetă pentru " + selectedProduct.getName() + ": " + items.size() + " ingrediente");
-            
-            // Forțăm încărcarea ingredientelor pentru a evita lazy loading
-            for (RecipeItem item : items) {
-                if (item.getIngredient() != null) {
-                    System.out.println("- " + item.getIngredient().getName() + ": " + item.getRequiredQuantity());
-                } else {
-                    System.out.println("- Ingredient null pentru ID: " + item.getIngredientId());
+            Product product = selectedProduct;
+            CompletableFuture<List<RecipeLineView>> load = asyncServices.production(
+                service -> service.getRecipeLines(product.getId()));
+            recipeLoad = load;
+            load.whenComplete((items, error) -> {
+                if (load.isCancelled()) return;
+                recipeLoad = null;
+                if (error != null) {
+                    System.err.println("Error loading recipe: " + AsyncServices.errorMessage(error));
+                    return;
                 }
-            }
-            
-            recipeItems.addAll(items);
+                System.out.println("Rețetă pentru " + product.getName() + ": " + items.size() + " ingrediente");
+                recipeItems.setAll(items);
+            });
         }
     }
     
@@ -554,38 +544,45 @@ public class ProductionController {
             }
             
             productionStatusLabel.setText("Producție în curs...");
+            executeProductionButton.setDisable(true);
             
-            if (!productionService.canProduce(selectedProduct.getId(), quantity)) {
-                showError("Stoc insuficient pentru producție!");
-                stockStatusLabel.setText("❌ Stoc insuficient");
-                productionStatusLabel.setText("Eroare producție");
-                return;
-            }
-            
-            productionService.executeProduction(selectedProduct.getId(), quantity);
-            
-            productionHistory.add(0, new ProductionRecord(
-                LocalDateTime.now(),
-                selectedProduct.getName(),
-                quantity,
-                "Succes"
-            ));
-            
-            loadProducts();
-            loadRecipe();
-            updateProductionInfo();
-            
-            productionStatusLabel.setText("✅ Producție finalizată");
-            stockStatusLabel.setText("✅ Stocuri actualizate");
-            
-            showSuccessMessage("Producție executată cu succes!");
+            // Scăderea stocurilor rulează în fundal; produsul selectat poate fi schimbat între timp
+            Product product = selectedProduct;
+            asyncServices.production(service -> service.executeProduction(product.getId(), quantity))
+                .whenComplete((report, error) -> {
+                    executeProductionButton.setDisable(false);
+                    if (error != null) {
+                        showError("Eroare la producție: " + AsyncServices.errorMessage(error));
+                        productionStatusLabel.setText("Eroare producție");
+                        return;
+                    }
+                    if (!report.isExecuted()) {
+                        showError(report.getShortfallMessage());
+                        stockStatusLabel.setText("❌ Stoc insuficient");
+                        productionStatusLabel.setText("Eroare producție");
+                        return;
+                    }
+                    
+                    productionHistory.add(0, new ProductionRecord(
+                        LocalDateTime.now(),
+                        product.getName(),
+                        quantity,
+                        "Succes"
+                    ));
+                    
+                    loadProducts();
+                    loadRecipe();
+                    updateProductionInfo();
+                    
+                    productionStatusLabel.setText("✅ Producție finalizată");
+                    stockStatusLabel.setText("✅ Stocuri actualizate");
+                    
+                    showSuccessMessage("Producție executată cu succes!");
+                });
             
         } catch (NumberFormatException e) {
             showError("Cantitate invalidă!");
             productionStatusLabel.setText("Eroare producție");
-        } catch (Exception e) {
-            showError("Eroare la producție: " + e.getMessage());
-            productionStatusLabel.setText("Eroare producție");
         }
     }
     
@@ -602,53 +599,58 @@ public class ProductionController {
             return;
         }
         
+        BigDecimal quantity;
         try {
-            BigDecimal quantity = new BigDecimal(quantityText);
-            Map<Ingredient, BigDecimal> requiredIngredients = 
-                productionService.calculateRequiredIngredients(selectedProduct.getId(), quantity);
-            
-            StringBuilder stockInfo = new StringBuilder();
-            stockInfo.append("Verificare stoc pentru ").append(quantity)
-                     .append(" ").append(selectedProduct.getName()).append(":\n\n");
-            
-            boolean allSufficient = true;
-            for (Map.Entry<Ingredient, BigDecimal> entry : requiredIngredients.entrySet()) {
-                Ingredient ingredient = entry.getKey();
-                BigDecimal required = entry.getValue();
-                BigDecimal available = ingredient.getCurrentStock();
-                
-                boolean sufficient = available.compareTo(required) >= 0;
-                allSufficient &= sufficient;
-                
-                stockInfo.append("• ").append(ingredient.getName())
-                         .append(": necesar ").append(required)
-                         .append(" ").append(ingredient.getUnitOfMeasure().getDisplayName())
-                         .append(", disponibil ").append(available)
-                         .append(" ").append(ingredient.getUnitOfMeasure().getDisplayName())
-                         .append(" ").append(sufficient ? "✅" : "❌")
-                         .append("\n");
-            }
-            
-            if (allSufficient) {
-                stockInfo.append("\n✅ Stocuri suficiente pentru producție!");
-                stockStatusLabel.setText("✅ Stocuri OK");
-            } else {
-                stockInfo.append("\n❌ Stocuri insuficiente!");
-                stockStatusLabel.setText("❌ Stoc insuficient");
-            }
-            
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Verificare Stoc");
-            alert.setHeaderText(null);
-            alert.setContentText(stockInfo.toString());
-            alert.getDialogPane().setPrefWidth(400);
-            alert.show();
-            
+            quantity = new BigDecimal(quantityText);
         } catch (NumberFormatException e) {
             showError("Cantitate invalidă!");
-        } catch (Exception e) {
-            showError("Eroare la verificarea stocului: " + e.getMessage());
+            return;
         }
+        
+        // Necesarul de ingrediente se calculează în fundal
+        Product product = selectedProduct;
+        checkStockButton.setDisable(true);
+        asyncServices.production(service -> service.checkProduction(product.getId(), quantity))
+            .whenComplete((report, error) -> {
+                checkStockButton.setDisable(false);
+                if (error != null) {
+                    showError("Eroare la verificarea stocului: " + AsyncServices.errorMessage(error));
+                    return;
+                }
+                showStockCheck(product, quantity, report);
+            });
+    }
+    
+    private void showStockCheck(Product product, BigDecimal quantity, ProductionReport report) {
+        StringBuilder stockInfo = new StringBuilder();
+        stockInfo.append("Verificare stoc pentru ").append(quantity)
+                 .append(" ").append(product.getName()).append(":\n\n");
+        
+        for (ProductionReport.IngredientLine line : report.getLines()) {
+            stockInfo.append("• ").append(line.getIngredientName())
+                     .append(": necesar ").append(line.getRequiredQuantity())
+                     .append(" ").append(line.getUnit())
+                     .append(", disponibil ").append(line.getAvailableQuantity())
+                     .append(" ").append(line.getUnit())
+                     .append(" ").append(line.isSufficient() ? "✅" : "❌")
+                     .append("\n");
+        }
+        boolean allSufficient = report.isSufficient();
+        
+        if (allSufficient) {
+            stockInfo.append("\n✅ Stocuri suficiente pentru producție!");
+            stockStatusLabel.setText("✅ Stocuri OK");
+        } else {
+            stockInfo.append("\n❌ Stocuri insuficiente!");
+            stockStatusLabel.setText("❌ Stoc insuficient");
+        }
+        
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Verificare Stoc");
+        alert.setHeaderText(null);
+        alert.setContentText(stockInfo.toString());
+        alert.getDialogPane().setPrefWidth(400);
+        alert.show();
     }
     
     @FXML
@@ -684,14 +686,48 @@ public class ProductionController {
         }
     }
     
-    private void removeRecipeItem(RecipeItem item) {
+    @FXML
+    public void copyRecipe() {
+        if (selectedProduct == null) {
+            showError("Selectați un produs mai întâi!");
+            return;
+        }
+        
+        Map<String, Product> sources = new LinkedHashMap<>();
+        for (Product product : productService.getActiveProducts()) {
+            if (!product.getId().equals(selectedProduct.getId())) {
+                sources.put(product.getName(), product);
+            }
+        }
+        if (sources.isEmpty()) {
+            showError("Nu există alte produse din care să se copieze rețeta!");
+            return;
+        }
+        
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(sources.keySet().iterator().next(), sources.keySet());
+        dialog.setTitle("Copiază Rețetă");
+        dialog.setHeaderText("Copiați rețeta altui produs în " + selectedProduct.getName());
+        dialog.setContentText("Produs sursă:");
+        
+        dialog.showAndWait().ifPresent(name -> {
+            try {
+                int copied = productionService.copyRecipe(sources.get(name).getId(), selectedProduct.getId());
+                loadRecipe();
+                showSuccessMessage("Rețetă copiată: " + copied + " ingrediente din " + name);
+            } catch (Exception e) {
+                showError("Eroare la copierea rețetei: " + e.getMessage());
+            }
+        });
+    }
+    
+    private void removeRecipeItem(RecipeLineView item) {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Confirmare Ștergere");
         alert.setHeaderText("Ștergeți acest ingredient din rețetă?");
-        alert.setContentText("Ingredient: " + (item.getIngredient() != null ? item.getIngredient().getName() : ""));
+        alert.setContentText("Ingredient: " + item.getIngredientName());
         
         if (alert.showAndWait().get() == ButtonType.OK) {
-            productionService.removeRecipeItem(item.getId());
+            productionService.removeRecipeItem(item.getRecipeItemId());
             loadRecipe();
             showSuccessMessage("Ingredient șters din rețetă!");
         }
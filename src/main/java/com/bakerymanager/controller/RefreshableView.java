@@ -0,0 +1,7 @@
+package com.bakerymanager.controller;
+
+// Controller al unui ecran păstrat în ViewRegistry: la fiecare revenire pe ecran își reîncarcă doar datele
+public interface RefreshableView {
+    
+    void refresh();
+}
@@ -1,7 +1,9 @@
 package com.bakerymanager.controller;
 
+import com.bakerymanager.service.AsyncServices;
 import com.bakerymanager.service.IngredientService;
 import com.bakerymanager.service.ProductService;
+import com.bakerymanager.service.SalesRollupService;
 import com.lowagie.text.Document;
 import com.lowagie.text.Element;
 import com.lowagie.text.Font;
@@ -10,11 +12,13 @@ import com.lowagie.text.Paragraph;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
 import javafx.stage.FileChooser;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Controller;
 
 import java.io.File;
@@ -22,17 +26,26 @@ import java.io.FileOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 
 @Controller
+@Lazy
 public class ReportsController {
     
     private final ProductService productService;
     private final IngredientService ingredientService;
+    private final SalesRollupService salesRollupService;
+    private final AsyncServices asyncServices;
     
-    public ReportsController(ProductService productService, IngredientService ingredientService) {
+    public ReportsController(ProductService productService, IngredientService ingredientService,
+                             SalesRollupService salesRollupService, AsyncServices asyncServices) {
         this.productService = productService;
         this.ingredientService = ingredientService;
+        this.salesRollupService = salesRollupService;
+        this.asyncServices = asyncServices;
     }
     
     @FXML
@@ -50,6 +63,9 @@ public class ReportsController {
     @FXML
     private TextArea reportContentArea;
     
+    @FXML
+    private Button generateReportButton;
+    
     @FXML
     public void initialize() {
         setupReportTypes();
@@ -74,6 +90,24 @@ public class ReportsController {
         LocalDate startDate = startDatePicker.getValue();
         LocalDate endDate = endDatePicker.getValue();
         
+        // Interogările rulează în fundal; fereastra rămâne responsivă până vine textul raportului
+        generateReportButton.setDisable(true);
+        reportTitleLabel.setText(reportType + " - se generează...");
+        asyncServices.submit(() -> buildReport(reportType, startDate, endDate))
+            .whenComplete((report, error) -> {
+                generateReportButton.setDisable(false);
+                if (error != null) {
+                    reportTitleLabel.setText(reportType);
+                    System.err.println("Error generating report: " + AsyncServices.errorMessage(error));
+                    reportContentArea.setText("Eroare la generarea raportului: " + AsyncServices.errorMessage(error));
+                    return;
+                }
+                reportTitleLabel.setText(reportType + " - " + LocalDate.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy")));
+                reportContentArea.setText(report);
+            });
+    }
+    
+    private String buildReport(String reportType, LocalDate startDate, LocalDate endDate) {
         StringBuilder report = new StringBuilder();
         
         switch (reportType) {
@@ -97,8 +131,7 @@ public class ReportsController {
                 break;
         }
         
-        reportTitleLabel.setText(reportType + " - " + LocalDate.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy")));
-        reportContentArea.setText(report.toString());
+        return report.toString();
     }
     
     private void generateStockReport(StringBuilder report) {
@@ -135,22 +168,53 @@ public class ReportsController {
     }
     
     private void generateSalesReport(StringBuilder report, LocalDate startDate, LocalDate endDate) {
+        // Fără perioadă selectată: luna curentă
+        if (startDate == null) {
+            startDate = LocalDate.now().withDayOfMonth(1);
+        }
+        if (endDate == null) {
+            endDate = LocalDate.now();
+        }
+        DateTimeFormatter dayFormat = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+        
         report.append("=== RAPORT VÂNZĂRI ===\n");
-        report.append("Perioada: ");
-        if (startDate != null && endDate != null) {
-            report.append(startDate.format(DateTimeFormatter.ofPattern("dd.MM.yyyy")))
-                  .append(" - ")
-                  .append(endDate.format(DateTimeFormatter.ofPattern("dd.MM.yyyy")));
-        } else {
-            report.append("Nespecificat");
+        report.append("Perioada: ")
+              .append(startDate.format(dayFormat))
+              .append(" - ")
+              .append(endDate.format(dayFormat))
+              .append("\n\n");
+        
+        // Totalurile vin din agregatul zilnic (daily_sales_rollup), nu din liniile de vânzare
+        List<Object[]> dailyTotals = salesRollupService.getDailyTotals(startDate, endDate);
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        for (Object[] row : dailyTotals) {
+            totalRevenue = totalRevenue.add((BigDecimal) row[2]);
+        }
+        report.append(String.format("Total încasări: %.2f lei\n", totalRevenue));
+        report.append("Zile cu vânzări: ").append(dailyTotals.size()).append("\n\n");
+        
+        report.append("TOP PRODUSE:\n");
+        report.append("----------------------------------------\n");
+        report.append(String.format("%-30s %8s %10s %12s\n", "Produs", "Bonuri", "Cantitate", "Încasări"));
+        for (Object[] row : salesRollupService.getProductTotals(startDate, endDate)) {
+            report.append(String.format("%-30s %8d %10.2f %12.2f\n",
+                row[1], ((Number) row[2]).longValue(), row[3], row[4]));
+        }
+        
+        Map<YearMonth, BigDecimal> monthly = salesRollupService.getMonthlyRevenue(startDate, endDate);
+        if (monthly.size() > 1) {
+            report.append("\nPE LUNI:\n");
+            report.append("----------------------------------------\n");
+            monthly.forEach((month, revenue) -> report.append(String.format("%-30s %12.2f lei\n",
+                month.format(DateTimeFormatter.ofPattern("MM.yyyy")), revenue)));
+        }
+        
+        report.append("\nPE ZILE:\n");
+        report.append("----------------------------------------\n");
+        for (Object[] row : dailyTotals) {
+            report.append(String.format("%-30s %10.2f %12.2f lei\n",
+                ((LocalDate) row[0]).format(dayFormat), row[1], row[2]));
         }
-        report.append("\n\n");
-        report.append("Raportul vânzărilor este în dezvoltare.\n");
-        report.append("Funcționalități viitoare:\n");
-        report.append("- Total vânzări pe perioadă\n");
-        report.append("- Top produse vândute\n");
-        report.append("- Vânzări pe categorii\n");
-        report.append("- Grafice evoluție vânzări\n");
     }
     
     private void generateProductionReport(StringBuilder report, LocalDate startDate, LocalDate endDate) {
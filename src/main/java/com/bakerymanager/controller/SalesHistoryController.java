@@ -0,0 +1,250 @@
+package com.bakerymanager.controller;
+
+import com.bakerymanager.dto.SaleHistoryFilter;
+import com.bakerymanager.dto.SaleHistoryRow;
+import com.bakerymanager.service.AsyncServices;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Controller;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+@Lazy
+public class SalesHistoryController implements RefreshableView {
+    
+    private static final String ALL = "Toate";
+    private static final int PAGE_SIZE = 100;
+    // Fereastra de rânduri ținute în tabel; paginile din afara ei se recitesc la nevoie
+    private static final int MAX_ROWS = 1000;
+    
+    private final AsyncServices asyncServices;
+    
+    public SalesHistoryController(AsyncServices asyncServices) {
+        this.asyncServices = asyncServices;
+    }
+    
+    @FXML
+    private ComboBox<String> operatorCombo;
+    
+    @FXML
+    private ComboBox<String> paymentMethodCombo;
+    
+    @FXML
+    private TextField minAmountField;
+    
+    @FXML
+    private TextField maxAmountField;
+    
+    @FXML
+    private TableView<SaleHistoryRow> salesTable;
+    
+    @FXML
+    private TableColumn<SaleHistoryRow, String> dateColumn;
+    
+    @FXML
+    private TableColumn<SaleHistoryRow, String> invoiceNumberColumn;
+    
+    @FXML
+    private TableColumn<SaleHistoryRow, String> operatorColumn;
+    
+    @FXML
+    private TableColumn<SaleHistoryRow, String> paymentMethodColumn;
+    
+    @FXML
+    private TableColumn<SaleHistoryRow, BigDecimal> totalColumn;
+    
+    @FXML
+    private Label statusLabel;
+    
+    private final ObservableList<SaleHistoryRow> rows = FXCollections.observableArrayList();
+    private SaleHistoryFilter filter = new SaleHistoryFilter();
+    private boolean hasOlder;
+    private boolean hasNewer;
+    // Pagina în curs de citire; o schimbare de filtre o anulează, ca rezultatul vechi să nu ajungă în tabel
+    private CompletableFuture<List<SaleHistoryRow>> pageLoad;
+    
+    @FXML
+    public void initialize() {
+        setupTable();
+        loadFilterOptions();
+        reloadSales();
+        System.out.println("Sales history controller initialized");
+    }
+    
+    private void setupTable() {
+        dateColumn.setCellValueFactory(new PropertyValueFactory<>("formattedDate"));
+        invoiceNumberColumn.setCellValueFactory(new PropertyValueFactory<>("invoiceNumber"));
+        operatorColumn.setCellValueFactory(new PropertyValueFactory<>("operator"));
+        paymentMethodColumn.setCellValueFactory(new PropertyValueFactory<>("paymentMethod"));
+        totalColumn.setCellValueFactory(new PropertyValueFactory<>("totalAmount"));
+        salesTable.setItems(rows);
+        
+        // Scrollbar-ul vertical există doar după ce tabelul primește skin-ul
+        salesTable.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            for (Node node : salesTable.lookupAll(".scroll-bar")) {
+                if (node instanceof ScrollBar scrollBar && scrollBar.getOrientation() == Orientation.VERTICAL) {
+                    scrollBar.valueProperty().addListener((o, oldValue, value) -> {
+                        if (value.doubleValue() >= scrollBar.getMax() * 0.95) {
+                            loadOlder();
+                        } else if (value.doubleValue() <= scrollBar.getMin() && hasNewer) {
+                            loadNewer();
+                        }
+                    });
+                }
+            }
+        });
+    }
+    
+    private void loadFilterOptions() {
+        operatorCombo.setItems(FXCollections.observableArrayList(ALL));
+        operatorCombo.setValue(ALL);
+        paymentMethodCombo.setItems(FXCollections.observableArrayList(ALL));
+        paymentMethodCombo.setValue(ALL);
+        
+        asyncServices.sales(service -> List.of(service.getOperators(), service.getPaymentMethods()))
+            .whenComplete((options, error) -> {
+                if (error != null) {
+                    System.err.println("Eroare la încărcarea filtrelor: " + AsyncServices.errorMessage(error));
+                    return;
+                }
+                operatorCombo.getItems().addAll(options.get(0));
+                paymentMethodCombo.getItems().addAll(options.get(1));
+            });
+    }
+    
+    // Filtrele rămân; lista se reia de la cele mai noi vânzări
+    @Override
+    public void refresh() {
+        reloadSales();
+    }
+    
+    @FXML
+    public void reloadSales() {
+        if (pageLoad != null) {
+            pageLoad.cancel(true);
+            pageLoad = null;
+        }
+        rows.clear();
+        hasOlder = true;
+        hasNewer = false;
+        loadOlder();
+    }
+    
+    @FXML
+    public void applyFilters() {
+        try {
+            SaleHistoryFilter newFilter = new SaleHistoryFilter();
+            newFilter.setOperator(ALL.equals(operatorCombo.getValue()) ? null : operatorCombo.getValue());
+            newFilter.setPaymentMethod(ALL.equals(paymentMethodCombo.getValue()) ? null : paymentMethodCombo.getValue());
+            newFilter.setMinAmount(parseAmount(minAmountField.getText()));
+            newFilter.setMaxAmount(parseAmount(maxAmountField.getText()));
+            filter = newFilter;
+            reloadSales();
+        } catch (NumberFormatException e) {
+            showError("Sumele trebuie să fie numere valide!");
+        }
+    }
+    
+    @FXML
+    public void resetFilters() {
+        operatorCombo.setValue(ALL);
+        paymentMethodCombo.setValue(ALL);
+        minAmountField.clear();
+        maxAmountField.clear();
+        filter = new SaleHistoryFilter();
+        reloadSales();
+    }
+    
+    // Pagina următoare (mai veche) după ultimul rând afișat
+    private void loadOlder() {
+        if (pageLoad != null || !hasOlder) return;
+        SaleHistoryRow last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        SaleHistoryFilter pageFilter = filter;
+        CompletableFuture<List<SaleHistoryRow>> load = asyncServices.sales(
+            service -> service.getSalesHistoryPage(pageFilter, last, PAGE_SIZE));
+        pageLoad = load;
+        statusLabel.setText("Se încarcă vânzările...");
+        load.whenComplete((page, error) -> {
+            if (load.isCancelled()) return;
+            pageLoad = null;
+            if (error != null) {
+                showError("Eroare la încărcarea vânzărilor: " + AsyncServices.errorMessage(error));
+                updateStatus();
+                return;
+            }
+            hasOlder = page.size() == PAGE_SIZE;
+            rows.addAll(page);
+            
+            if (rows.size() > MAX_ROWS) {
+                int dropped = rows.size() - MAX_ROWS;
+                rows.remove(0, dropped);
+                hasNewer = true;
+                salesTable.scrollTo(MAX_ROWS - page.size() - 1);
+            }
+            updateStatus();
+        });
+    }
+    
+    // Pagina anterioară (mai nouă), când fereastra a renunțat deja la rândurile de sus
+    private void loadNewer() {
+        if (pageLoad != null || !hasNewer || rows.isEmpty()) return;
+        SaleHistoryRow first = rows.get(0);
+        SaleHistoryFilter pageFilter = filter;
+        CompletableFuture<List<SaleHistoryRow>> load = asyncServices.sales(
+            service -> service.getSalesHistoryPageBefore(pageFilter, first, PAGE_SIZE));
+        pageLoad = load;
+        statusLabel.setText("Se încarcă vânzările...");
+        load.whenComplete((page, error) -> {
+            if (load.isCancelled()) return;
+            pageLoad = null;
+            if (error != null) {
+                showError("Eroare la încărcarea vânzărilor: " + AsyncServices.errorMessage(error));
+                updateStatus();
+                return;
+            }
+            hasNewer = page.size() == PAGE_SIZE;
+            rows.addAll(0, page);
+            
+            if (rows.size() > MAX_ROWS) {
+                rows.remove(MAX_ROWS, rows.size());
+                hasOlder = true;
+            }
+            salesTable.scrollTo(page.size());
+            updateStatus();
+        });
+    }
+    
+    private void updateStatus() {
+        if (rows.isEmpty()) {
+            statusLabel.setText("Nu există vânzări pentru filtrele selectate");
+            return;
+        }
+        statusLabel.setText("Afișate " + rows.size() + " vânzări: " + rows.get(0).getFormattedDate() 
+            + " - " + rows.get(rows.size() - 1).getFormattedDate()
+            + (hasOlder ? " (derulați pentru mai multe)" : ""));
+    }
+    
+    private BigDecimal parseAmount(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        return new BigDecimal(text.trim().replace(',', '.'));
+    }
+    
+    private void showError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Eroare");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.show();
+    }
+}
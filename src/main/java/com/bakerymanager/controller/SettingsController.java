@@ -1,20 +1,32 @@
 package com.bakerymanager.controller;
 
 import com.bakerymanager.entity.Ingredient;
+import com.bakerymanager.service.AsyncServices;
+import com.bakerymanager.service.CacheStatisticsService;
+import com.bakerymanager.service.DatabaseBackupService;
+import com.bakerymanager.service.SalesRollupService;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.DirectoryChooser;
 import javafx.stage.Stage;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Controller;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.Properties;
 
 @Controller
+@Lazy
 public class SettingsController {
     
     private static final String CONFIG_FILE = "config.properties";
     
+    private final CacheStatisticsService cacheStatisticsService;
+    private final SalesRollupService salesRollupService;
+    private final DatabaseBackupService databaseBackupService;
+    private final AsyncServices asyncServices;
+    
     @FXML
     private TextField companyNameField;
     
@@ -57,6 +69,19 @@ public class SettingsController {
     @FXML
     private TextField backupLocationField;
     
+    @FXML
+    private Button rebuildRollupButton;
+    
+    public SettingsController(CacheStatisticsService cacheStatisticsService,
+                              SalesRollupService salesRollupService,
+                              DatabaseBackupService databaseBackupService,
+                              AsyncServices asyncServices) {
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.salesRollupService = salesRollupService;
+        this.databaseBackupService = databaseBackupService;
+        this.asyncServices = asyncServices;
+    }
+    
     @FXML
     public void initialize() {
         setupComboBoxes();
@@ -98,7 +123,7 @@ public class SettingsController {
                 autoBackupCheck.setSelected(Boolean.parseBoolean(props.getProperty("auto.backup", "true")));
                 
                 backupFrequencyCombo.setValue(props.getProperty("backup.frequency", "Zilnic"));
-                backupLocationField.setText(props.getProperty("backup.location", System.getProperty("user.home") + File.separator + "bakery_backups"));
+                backupLocationField.setText(props.getProperty("backup.location", DatabaseBackupService.defaultLocation()));
                 
                 // Setăm unitatea implicită
                 String defaultUnit = props.getProperty("default.unit", "KG");
@@ -133,7 +158,7 @@ public class SettingsController {
         autoReceiptCheck.setSelected(true);
         autoBackupCheck.setSelected(true);
         
-        backupLocationField.setText(System.getProperty("user.home") + File.separator + "bakery_backups");
+        backupLocationField.setText(DatabaseBackupService.defaultLocation());
     }
     
     @FXML
@@ -211,29 +236,62 @@ public class SettingsController {
     
     @FXML
     public void backupNow() {
-        try {
-            String backupLocation = backupLocationField.getText();
-            if (backupLocation == null || backupLocation.trim().isEmpty()) {
-                showError("Selectați o locație pentru backup!");
-                return;
-            }
-            
-            File backupDir = new File(backupLocation);
-            if (!backupDir.exists()) {
-                backupDir.mkdirs();
+        String backupLocation = backupLocationField.getText();
+        if (backupLocation == null || backupLocation.trim().isEmpty()) {
+            showError("Selectați o locație pentru backup!");
+            return;
+        }
+        
+        // Copia bazei de date se face în fundal; interfața rămâne utilizabilă
+        asyncServices.submit(() -> databaseBackupService.backupTo(Path.of(backupLocation.trim())))
+            .whenComplete((backupFile, error) -> {
+                if (error != null) {
+                    System.err.println("Error creating backup: " + AsyncServices.errorMessage(error));
+                    showError("Eroare la crearea backup-ului: " + AsyncServices.errorMessage(error));
+                    return;
+                }
+                showSuccessMessage("Backup creat cu succes!\nLocație: " + backupFile.toAbsolutePath());
+                System.out.println("Backup created at: " + backupFile.toAbsolutePath());
+            });
+    }
+    
+    @FXML
+    public void showCacheStatistics() {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Statistici cache");
+        alert.setHeaderText("Cache catalog (produse, ingrediente, rețete)");
+        alert.setContentText(cacheStatisticsService.getSummary());
+        
+        ButtonType clearButton = new ButtonType("Golește cache");
+        alert.getButtonTypes().add(clearButton);
+        alert.showAndWait().ifPresent(button -> {
+            if (button == clearButton) {
+                cacheStatisticsService.clearCatalogCache();
+                showSuccessMessage("Cache-ul a fost golit!");
             }
-            
-            String timestamp = java.time.LocalDateTime.now().format(
-                java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String backupFileName = "bakery_backup_" + timestamp + ".db";
-            File backupFile = new File(backupDir, backupFileName);
-            
-            showSuccessMessage("Backup creat cu succes!\nLocație: " + backupFile.getAbsolutePath());
-            System.out.println("Backup created at: " + backupFile.getAbsolutePath());
-            
-        } catch (Exception e) {
-            System.err.println("Error creating backup: " + e.getMessage());
-            showError("Eroare la crearea backup-ului: " + e.getMessage());
+        });
+    }
+    
+    @FXML
+    public void rebuildSalesRollup() {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Confirmare");
+        alert.setHeaderText("Reconstruiți agregatul zilnic al vânzărilor?");
+        alert.setContentText("Totalurile pentru rapoarte vor fi recalculate din toate vânzările existente.");
+        
+        if (alert.showAndWait().get() == ButtonType.OK) {
+            // Recalcularea parcurge toate vânzările, deci rulează în fundal
+            rebuildRollupButton.setDisable(true);
+            asyncServices.submit(salesRollupService::rebuild)
+                .whenComplete((rows, error) -> {
+                    rebuildRollupButton.setDisable(false);
+                    if (error != null) {
+                        System.err.println("Error rebuilding sales rollup: " + AsyncServices.errorMessage(error));
+                        showError("Eroare la reconstruirea agregatului: " + AsyncServices.errorMessage(error));
+                        return;
+                    }
+                    showSuccessMessage("Agregatul vânzărilor a fost reconstruit!\nRânduri: " + rows);
+                });
         }
     }
     
@@ -0,0 +1,30 @@
+package com.bakerymanager.dto;
+
+// Statisticile unei regiuni din cache-ul de nivel 2 Hibernate
+public class CacheRegionStats {
+    
+    private final String regionName;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long elementCount;
+    
+    public CacheRegionStats(String regionName, long hitCount, long missCount, long putCount, long elementCount) {
+        this.regionName = regionName;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCount = elementCount;
+    }
+    
+    public double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+    
+    public String getRegionName() { return regionName; }
+    public long getHitCount() { return hitCount; }
+    public long getMissCount() { return missCount; }
+    public long getPutCount() { return putCount; }
+    public long getElementCount() { return elementCount; }
+}
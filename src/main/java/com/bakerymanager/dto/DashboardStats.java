@@ -0,0 +1,31 @@
+package com.bakerymanager.dto;
+
+import java.math.BigDecimal;
+
+// Indicatorii afișați pe dashboard, calculați cu interogări COUNT/SUM
+public class DashboardStats {
+    
+    private final long productsInStock;
+    private final long ingredientsInStock;
+    private final long lowStockIngredients;
+    private final long lowStockProducts;
+    private final long todaySalesCount;
+    private final BigDecimal todaySalesTotal;
+    
+    public DashboardStats(long productsInStock, long ingredientsInStock, long lowStockIngredients,
+                          long lowStockProducts, long todaySalesCount, BigDecimal todaySalesTotal) {
+        this.productsInStock = productsInStock;
+        this.ingredientsInStock = ingredientsInStock;
+        this.lowStockIngredients = lowStockIngredients;
+        this.lowStockProducts = lowStockProducts;
+        this.todaySalesCount = todaySalesCount;
+        this.todaySalesTotal = todaySalesTotal;
+    }
+    
+    public long getProductsInStock() { return productsInStock; }
+    public long getIngredientsInStock() { return ingredientsInStock; }
+    public long getLowStockIngredients() { return lowStockIngredients; }
+    public long getLowStockProducts() { return lowStockProducts; }
+    public long getTodaySalesCount() { return todaySalesCount; }
+    public BigDecimal getTodaySalesTotal() { return todaySalesTotal; }
+}
@@ -0,0 +1,19 @@
+package com.bakerymanager.dto;
+
+// Un candidat din indexul de potrivire a ingredientelor; scorul e între 0 și 1 (1 = același nume normalizat)
+public class IngredientMatch {
+
+    private final Long ingredientId;
+    private final String name;
+    private final double score;
+
+    public IngredientMatch(Long ingredientId, String name, double score) {
+        this.ingredientId = ingredientId;
+        this.name = name;
+        this.score = score;
+    }
+
+    public Long getIngredientId() { return ingredientId; }
+    public String getName() { return name; }
+    public double getScore() { return score; }
+}
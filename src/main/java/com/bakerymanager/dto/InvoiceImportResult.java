@@ -0,0 +1,42 @@
+package com.bakerymanager.dto;
+
+// Rezultatul importului unui fișier e-Factura, raportat pe rând în timpul importului în masă
+public class InvoiceImportResult {
+
+    public enum Status { IMPORTED, DUPLICATE, FAILED }
+
+    private final String fileName;
+    private final Status status;
+    private final String invoiceNumber;
+    private final int lineCount;
+    private final String message;
+
+    private InvoiceImportResult(String fileName, Status status, String invoiceNumber, int lineCount, String message) {
+        this.fileName = fileName;
+        this.status = status;
+        this.invoiceNumber = invoiceNumber;
+        this.lineCount = lineCount;
+        this.message = message;
+    }
+
+    public static InvoiceImportResult imported(String fileName, String invoiceNumber, int lineCount) {
+        return new InvoiceImportResult(fileName, Status.IMPORTED, invoiceNumber, lineCount, null);
+    }
+
+    public static InvoiceImportResult duplicate(String fileName, String invoiceNumber) {
+        String message = invoiceNumber != null
+            ? "Factura " + invoiceNumber + " este deja importată"
+            : "Fișier identic cu unul deja importat";
+        return new InvoiceImportResult(fileName, Status.DUPLICATE, invoiceNumber, 0, message);
+    }
+
+    public static InvoiceImportResult failed(String fileName, String message) {
+        return new InvoiceImportResult(fileName, Status.FAILED, null, 0, message);
+    }
+
+    public String getFileName() { return fileName; }
+    public Status getStatus() { return status; }
+    public String getInvoiceNumber() { return invoiceNumber; }
+    public int getLineCount() { return lineCount; }
+    public String getMessage() { return message; }
+}
@@ -0,0 +1,46 @@
+package com.bakerymanager.dto;
+
+import com.bakerymanager.service.SaleService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// O vânzare confirmată la casă, scrisă în jurnal și încă nepersistată în baza de date
+public class JournaledSale {
+
+    private final long sequence;
+    private final LocalDateTime saleDate;
+    private final String paymentMethod;
+    private final BigDecimal cashReceived;
+    private final String operator;
+    private final List<SaleService.CartItem> items;
+    // Încercări eșuate din cauze trecătoare (baza de date ocupată); doar firul care salvează îl modifică
+    private int transientFailures;
+
+    public JournaledSale(long sequence, LocalDateTime saleDate, String paymentMethod,
+                         BigDecimal cashReceived, String operator, List<SaleService.CartItem> items) {
+        this.sequence = sequence;
+        this.saleDate = saleDate;
+        this.paymentMethod = paymentMethod;
+        this.cashReceived = cashReceived;
+        this.operator = operator;
+        this.items = items;
+    }
+
+    // Număr de bon determinist: reluarea după o cădere recunoaște vânzările deja salvate
+    public String getInvoiceNumber() {
+        return "JRN-" + sequence;
+    }
+
+    public long getSequence() { return sequence; }
+    public LocalDateTime getSaleDate() { return saleDate; }
+    public String getPaymentMethod() { return paymentMethod; }
+    public BigDecimal getCashReceived() { return cashReceived; }
+    public String getOperator() { return operator; }
+    public List<SaleService.CartItem> getItems() { return items; }
+
+    public int incrementTransientFailures() {
+        return ++transientFailures;
+    }
+}
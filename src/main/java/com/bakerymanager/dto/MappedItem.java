@@ -0,0 +1,21 @@
+package com.bakerymanager.dto;
+
+import java.math.BigDecimal;
+
+// Rezultatul căutării unui cod de articol al furnizorului în maparea învățată
+public class MappedItem {
+
+    private final Long ingredientId;
+    private final String unitCode;
+    private final BigDecimal conversionFactor;
+
+    public MappedItem(Long ingredientId, String unitCode, BigDecimal conversionFactor) {
+        this.ingredientId = ingredientId;
+        this.unitCode = unitCode;
+        this.conversionFactor = conversionFactor;
+    }
+
+    public Long getIngredientId() { return ingredientId; }
+    public String getUnitCode() { return unitCode; }
+    public BigDecimal getConversionFactor() { return conversionFactor; }
+}
@@ -0,0 +1,78 @@
+package com.bakerymanager.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Rezultatul verificării/execuției unei producții: necesarul pe fiecare ingredient și lipsurile
+public class ProductionReport {
+    
+    private final Long productId;
+    private final String productName;
+    private final BigDecimal quantity;
+    private final List<IngredientLine> lines;
+    private boolean executed;
+    
+    public ProductionReport(Long productId, String productName, BigDecimal quantity, List<IngredientLine> lines) {
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.lines = List.copyOf(lines);
+    }
+    
+    public boolean isSufficient() {
+        return lines.stream().allMatch(IngredientLine::isSufficient);
+    }
+    
+    public List<IngredientLine> getShortfalls() {
+        return lines.stream()
+            .filter(line -> !line.isSufficient())
+            .collect(Collectors.toList());
+    }
+    
+    public String getShortfallMessage() {
+        return getShortfalls().stream()
+            .map(line -> line.getIngredientName() + " (lipsă " + line.getMissingQuantity() + " " + line.getUnit() + ")")
+            .collect(Collectors.joining(", ", "Stoc insuficient pentru: ", ""));
+    }
+    
+    // Getters and Setters
+    public Long getProductId() { return productId; }
+    public String getProductName() { return productName; }
+    public BigDecimal getQuantity() { return quantity; }
+    public List<IngredientLine> getLines() { return lines; }
+    
+    public boolean isExecuted() { return executed; }
+    public void setExecuted(boolean executed) { this.executed = executed; }
+    
+    public static class IngredientLine {
+        private final Long ingredientId;
+        private final String ingredientName;
+        private final String unit;
+        private final BigDecimal requiredQuantity;
+        private final BigDecimal availableQuantity;
+        
+        public IngredientLine(Long ingredientId, String ingredientName, String unit,
+                              BigDecimal requiredQuantity, BigDecimal availableQuantity) {
+            this.ingredientId = ingredientId;
+            this.ingredientName = ingredientName;
+            this.unit = unit;
+            this.requiredQuantity = requiredQuantity;
+            this.availableQuantity = availableQuantity;
+        }
+        
+        public boolean isSufficient() {
+            return availableQuantity.compareTo(requiredQuantity) >= 0;
+        }
+        
+        public BigDecimal getMissingQuantity() {
+            return isSufficient() ? BigDecimal.ZERO : requiredQuantity.subtract(availableQuantity);
+        }
+        
+        public Long getIngredientId() { return ingredientId; }
+        public String getIngredientName() { return ingredientName; }
+        public String getUnit() { return unit; }
+        public BigDecimal getRequiredQuantity() { return requiredQuantity; }
+        public BigDecimal getAvailableQuantity() { return availableQuantity; }
+    }
+}
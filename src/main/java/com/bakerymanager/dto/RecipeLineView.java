@@ -0,0 +1,34 @@
+package com.bakerymanager.dto;
+
+import com.bakerymanager.entity.Ingredient;
+
+import java.math.BigDecimal;
+
+// O linie de rețetă pentru afișare, construită direct din interogare (fără entități lazy)
+public class RecipeLineView {
+    
+    private final Long recipeItemId;
+    private final Long ingredientId;
+    private final String ingredientName;
+    private final String unit;
+    private final BigDecimal requiredQuantity;
+    private final BigDecimal availableStock;
+    
+    public RecipeLineView(Long recipeItemId, Long ingredientId, String ingredientName,
+                          Ingredient.UnitOfMeasure unitOfMeasure, BigDecimal requiredQuantity,
+                          BigDecimal availableStock) {
+        this.recipeItemId = recipeItemId;
+        this.ingredientId = ingredientId;
+        this.ingredientName = ingredientName;
+        this.unit = unitOfMeasure != null ? unitOfMeasure.getDisplayName() : "-";
+        this.requiredQuantity = requiredQuantity;
+        this.availableStock = availableStock != null ? availableStock : BigDecimal.ZERO;
+    }
+    
+    public Long getRecipeItemId() { return recipeItemId; }
+    public Long getIngredientId() { return ingredientId; }
+    public String getIngredientName() { return ingredientName; }
+    public String getUnit() { return unit; }
+    public BigDecimal getRequiredQuantity() { return requiredQuantity; }
+    public BigDecimal getAvailableStock() { return availableStock; }
+}
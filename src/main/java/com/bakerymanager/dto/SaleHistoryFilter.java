@@ -0,0 +1,24 @@
+package com.bakerymanager.dto;
+
+import java.math.BigDecimal;
+
+// Filtrele din istoricul vânzărilor; câmpurile null nu se aplică
+public class SaleHistoryFilter {
+    
+    private String operator;
+    private String paymentMethod;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    
+    public String getOperator() { return operator; }
+    public void setOperator(String operator) { this.operator = operator; }
+    
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+    
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+    
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+}
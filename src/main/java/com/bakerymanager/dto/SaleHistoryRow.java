@@ -0,0 +1,39 @@
+package com.bakerymanager.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Rând din istoricul vânzărilor - doar coloanele afișate, fără liniile vânzării
+public class SaleHistoryRow {
+    
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
+    
+    private final Long id;
+    private final LocalDateTime saleDate;
+    private final String invoiceNumber;
+    private final String operator;
+    private final String paymentMethod;
+    private final BigDecimal totalAmount;
+    
+    public SaleHistoryRow(Long id, LocalDateTime saleDate, String invoiceNumber, String operator,
+                          String paymentMethod, BigDecimal totalAmount) {
+        this.id = id;
+        this.saleDate = saleDate;
+        this.invoiceNumber = invoiceNumber;
+        this.operator = operator;
+        this.paymentMethod = paymentMethod;
+        this.totalAmount = totalAmount;
+    }
+    
+    public String getFormattedDate() {
+        return saleDate.format(DATE_FORMAT);
+    }
+    
+    public Long getId() { return id; }
+    public LocalDateTime getSaleDate() { return saleDate; }
+    public String getInvoiceNumber() { return invoiceNumber; }
+    public String getOperator() { return operator; }
+    public String getPaymentMethod() { return paymentMethod; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+}
@@ -0,0 +1,31 @@
+package com.bakerymanager.dto;
+
+import java.math.BigDecimal;
+
+// Contribuția unei vânzări (sau a anulării ei) la rândul zilnic al unui produs
+public class SalesRollupDelta {
+    
+    private final Long productId;
+    private final String productName;
+    private final int saleCount;
+    private final BigDecimal quantity;
+    private final BigDecimal revenue;
+    
+    public SalesRollupDelta(Long productId, String productName, int saleCount, BigDecimal quantity, BigDecimal revenue) {
+        this.productId = productId;
+        this.productName = productName;
+        this.saleCount = saleCount;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+    
+    public SalesRollupDelta negate() {
+        return new SalesRollupDelta(productId, productName, -saleCount, quantity.negate(), revenue.negate());
+    }
+    
+    public Long getProductId() { return productId; }
+    public String getProductName() { return productName; }
+    public int getSaleCount() { return saleCount; }
+    public BigDecimal getQuantity() { return quantity; }
+    public BigDecimal getRevenue() { return revenue; }
+}
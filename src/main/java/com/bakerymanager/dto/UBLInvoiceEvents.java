@@ -0,0 +1,285 @@
+package com.bakerymanager.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Evenimentele emise de UBLInvoiceReader, în ordinea din documentul UBL 2.1 / CIUS-RO
+public class UBLInvoiceEvents {
+
+    // cbc:* de pe rădăcina facturii
+    public static class Header {
+        private String invoiceNumber;
+        private LocalDate issueDate;
+        private LocalDate dueDate;
+        private String invoiceTypeCode;
+        private String currency;
+        private String note;
+
+        public String getInvoiceNumber() { return invoiceNumber; }
+        public void setInvoiceNumber(String invoiceNumber) { this.invoiceNumber = invoiceNumber; }
+
+        public LocalDate getIssueDate() { return issueDate; }
+        public void setIssueDate(LocalDate issueDate) { this.issueDate = issueDate; }
+
+        public LocalDate getDueDate() { return dueDate; }
+        public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+        public String getInvoiceTypeCode() { return invoiceTypeCode; }
+        public void setInvoiceTypeCode(String invoiceTypeCode) { this.invoiceTypeCode = invoiceTypeCode; }
+
+        public String getCurrency() { return currency; }
+        public void setCurrency(String currency) { this.currency = currency; }
+
+        public String getNote() { return note; }
+        public void setNote(String note) { this.note = note; }
+    }
+
+    // cac:AccountingSupplierParty/cac:Party
+    public static class Party {
+        private String name;
+        private String registrationName;
+        private String vatId;
+        private String companyId;
+
+        // Denumirea afișată: numele comercial, altfel denumirea legală
+        public String getDisplayName() {
+            if (name != null && !name.isBlank()) {
+                return name;
+            }
+            return registrationName;
+        }
+
+        // CUI-ul: din PartyTaxScheme (RO...), altfel din PartyLegalEntity
+        public String getCui() {
+            return vatId != null ? vatId : companyId;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getRegistrationName() { return registrationName; }
+        public void setRegistrationName(String registrationName) { this.registrationName = registrationName; }
+
+        public String getVatId() { return vatId; }
+        public void setVatId(String vatId) { this.vatId = vatId; }
+
+        public String getCompanyId() { return companyId; }
+        public void setCompanyId(String companyId) { this.companyId = companyId; }
+    }
+
+    // cac:AllowanceCharge, la nivel de document sau de linie
+    public static class AllowanceCharge {
+        private boolean charge;
+        private String reasonCode;
+        private String reason;
+        private BigDecimal amount;
+        private BigDecimal baseAmount;
+        private String vatCategory;
+        private BigDecimal vatPercent;
+
+        // Reducerile sunt negative, taxele suplimentare pozitive
+        public BigDecimal getSignedAmount() {
+            if (amount == null) {
+                return BigDecimal.ZERO;
+            }
+            return charge ? amount : amount.negate();
+        }
+
+        public boolean isCharge() { return charge; }
+        public void setCharge(boolean charge) { this.charge = charge; }
+
+        public String getReasonCode() { return reasonCode; }
+        public void setReasonCode(String reasonCode) { this.reasonCode = reasonCode; }
+
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+        public BigDecimal getBaseAmount() { return baseAmount; }
+        public void setBaseAmount(BigDecimal baseAmount) { this.baseAmount = baseAmount; }
+
+        public String getVatCategory() { return vatCategory; }
+        public void setVatCategory(String vatCategory) { this.vatCategory = vatCategory; }
+
+        public BigDecimal getVatPercent() { return vatPercent; }
+        public void setVatPercent(BigDecimal vatPercent) { this.vatPercent = vatPercent; }
+    }
+
+    // cac:TaxTotal/cac:TaxSubtotal - defalcarea TVA pe cote
+    public static class TaxSubtotal {
+        private BigDecimal taxableAmount;
+        private BigDecimal taxAmount;
+        private String categoryId;
+        private BigDecimal percent;
+        private String exemptionReason;
+
+        public BigDecimal getTaxableAmount() { return taxableAmount; }
+        public void setTaxableAmount(BigDecimal taxableAmount) { this.taxableAmount = taxableAmount; }
+
+        public BigDecimal getTaxAmount() { return taxAmount; }
+        public void setTaxAmount(BigDecimal taxAmount) { this.taxAmount = taxAmount; }
+
+        public String getCategoryId() { return categoryId; }
+        public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+
+        public BigDecimal getPercent() { return percent; }
+        public void setPercent(BigDecimal percent) { this.percent = percent; }
+
+        public String getExemptionReason() { return exemptionReason; }
+        public void setExemptionReason(String exemptionReason) { this.exemptionReason = exemptionReason; }
+    }
+
+    // cac:LegalMonetaryTotal + TVA total din cac:TaxTotal/cbc:TaxAmount
+    public static class MonetaryTotal {
+        private BigDecimal lineExtensionAmount;
+        private BigDecimal taxExclusiveAmount;
+        private BigDecimal taxInclusiveAmount;
+        private BigDecimal allowanceTotalAmount;
+        private BigDecimal chargeTotalAmount;
+        private BigDecimal prepaidAmount;
+        private BigDecimal payableAmount;
+        private BigDecimal taxAmount;
+
+        public BigDecimal getLineExtensionAmount() { return lineExtensionAmount; }
+        public void setLineExtensionAmount(BigDecimal lineExtensionAmount) { this.lineExtensionAmount = lineExtensionAmount; }
+
+        public BigDecimal getTaxExclusiveAmount() { return taxExclusiveAmount; }
+        public void setTaxExclusiveAmount(BigDecimal taxExclusiveAmount) { this.taxExclusiveAmount = taxExclusiveAmount; }
+
+        public BigDecimal getTaxInclusiveAmount() { return taxInclusiveAmount; }
+        public void setTaxInclusiveAmount(BigDecimal taxInclusiveAmount) { this.taxInclusiveAmount = taxInclusiveAmount; }
+
+        public BigDecimal getAllowanceTotalAmount() { return allowanceTotalAmount; }
+        public void setAllowanceTotalAmount(BigDecimal allowanceTotalAmount) { this.allowanceTotalAmount = allowanceTotalAmount; }
+
+        public BigDecimal getChargeTotalAmount() { return chargeTotalAmount; }
+        public void setChargeTotalAmount(BigDecimal chargeTotalAmount) { this.chargeTotalAmount = chargeTotalAmount; }
+
+        public BigDecimal getPrepaidAmount() { return prepaidAmount; }
+        public void setPrepaidAmount(BigDecimal prepaidAmount) { this.prepaidAmount = prepaidAmount; }
+
+        public BigDecimal getPayableAmount() { return payableAmount; }
+        public void setPayableAmount(BigDecimal payableAmount) { this.payableAmount = payableAmount; }
+
+        public BigDecimal getTaxAmount() { return taxAmount; }
+        public void setTaxAmount(BigDecimal taxAmount) { this.taxAmount = taxAmount; }
+    }
+
+    // cac:InvoiceLine
+    public static class Line {
+        private String lineId;
+        private BigDecimal quantity;
+        private String unitCode;
+        private BigDecimal lineExtensionAmount;
+        private String itemName;
+        private String sellerItemId;
+        private String vatCategory;
+        private BigDecimal vatPercent;
+        private BigDecimal priceAmount;
+        private BigDecimal baseQuantity;
+        private final List<AllowanceCharge> allowanceCharges = new ArrayList<>();
+
+        // Prețul unitar net: PriceAmount raportat la BaseQuantity (implicit 1)
+        public BigDecimal getUnitPrice() {
+            if (priceAmount == null) {
+                return null;
+            }
+            if (baseQuantity == null || baseQuantity.signum() <= 0 || baseQuantity.compareTo(BigDecimal.ONE) == 0) {
+                return priceAmount;
+            }
+            return priceAmount.divide(baseQuantity, 4, RoundingMode.HALF_UP);
+        }
+
+        // Suma reducerilor (negativă) și taxelor suplimentare de pe linie
+        public BigDecimal getAllowanceChargeAmount() {
+            BigDecimal total = BigDecimal.ZERO;
+            for (AllowanceCharge allowanceCharge : allowanceCharges) {
+                total = total.add(allowanceCharge.getSignedAmount());
+            }
+            return total;
+        }
+
+        public String getLineId() { return lineId; }
+        public void setLineId(String lineId) { this.lineId = lineId; }
+
+        public BigDecimal getQuantity() { return quantity; }
+        public void setQuantity(BigDecimal quantity) { this.quantity = quantity; }
+
+        public String getUnitCode() { return unitCode; }
+        public void setUnitCode(String unitCode) { this.unitCode = unitCode; }
+
+        public BigDecimal getLineExtensionAmount() { return lineExtensionAmount; }
+        public void setLineExtensionAmount(BigDecimal lineExtensionAmount) { this.lineExtensionAmount = lineExtensionAmount; }
+
+        public String getItemName() { return itemName; }
+        public void setItemName(String itemName) { this.itemName = itemName; }
+
+        public String getSellerItemId() { return sellerItemId; }
+        public void setSellerItemId(String sellerItemId) { this.sellerItemId = sellerItemId; }
+
+        public String getVatCategory() { return vatCategory; }
+        public void setVatCategory(String vatCategory) { this.vatCategory = vatCategory; }
+
+        public BigDecimal getVatPercent() { return vatPercent; }
+        public void setVatPercent(BigDecimal vatPercent) { this.vatPercent = vatPercent; }
+
+        public BigDecimal getPriceAmount() { return priceAmount; }
+        public void setPriceAmount(BigDecimal priceAmount) { this.priceAmount = priceAmount; }
+
+        public BigDecimal getBaseQuantity() { return baseQuantity; }
+        public void setBaseQuantity(BigDecimal baseQuantity) { this.baseQuantity = baseQuantity; }
+
+        public List<AllowanceCharge> getAllowanceCharges() { return allowanceCharges; }
+    }
+
+    // Factura completă ținută în memorie, pentru importul în masă (parsare paralelă, scriere separată)
+    public static class Document {
+        private String sourceFileName;
+        private String sourcePath;
+        private byte[] archiveContent;
+        private String sourceSha256;
+        private Header header;
+        private Party supplier;
+        private final List<AllowanceCharge> allowanceCharges = new ArrayList<>();
+        private final List<TaxSubtotal> taxSubtotals = new ArrayList<>();
+        private MonetaryTotal monetaryTotal;
+        private final List<Line> lines = new ArrayList<>();
+
+        public String getInvoiceNumber() {
+            return header != null ? header.getInvoiceNumber() : null;
+        }
+
+        public String getSourceFileName() { return sourceFileName; }
+        public void setSourceFileName(String sourceFileName) { this.sourceFileName = sourceFileName; }
+
+        public String getSourcePath() { return sourcePath; }
+        public void setSourcePath(String sourcePath) { this.sourcePath = sourcePath; }
+
+        // Arhiva ZIP originală, când factura a venit din SPV împachetată
+        public byte[] getArchiveContent() { return archiveContent; }
+        public void setArchiveContent(byte[] archiveContent) { this.archiveContent = archiveContent; }
+
+        public String getSourceSha256() { return sourceSha256; }
+        public void setSourceSha256(String sourceSha256) { this.sourceSha256 = sourceSha256; }
+
+        public Header getHeader() { return header; }
+        public void setHeader(Header header) { this.header = header; }
+
+        public Party getSupplier() { return supplier; }
+        public void setSupplier(Party supplier) { this.supplier = supplier; }
+
+        public List<AllowanceCharge> getAllowanceCharges() { return allowanceCharges; }
+
+        public List<TaxSubtotal> getTaxSubtotals() { return taxSubtotals; }
+
+        public MonetaryTotal getMonetaryTotal() { return monetaryTotal; }
+        public void setMonetaryTotal(MonetaryTotal monetaryTotal) { this.monetaryTotal = monetaryTotal; }
+
+        public List<Line> getLines() { return lines; }
+    }
+}
@@ -0,0 +1,57 @@
+package com.bakerymanager.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Vânzările unui produs într-o zi, agregate; scris doar prin SalesRollupService
+@Entity
+@Table(name = "daily_sales_rollup",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"business_day", "product_id"}))
+public class DailySalesRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "business_day", nullable = false)
+    private LocalDate businessDay;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+    
+    // Numărul de bonuri care conțin produsul
+    @Column(name = "sale_count", nullable = false)
+    private Integer saleCount;
+    
+    @Column(name = "quantity", nullable = false, precision = 14, scale = 3)
+    private BigDecimal quantity;
+    
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public LocalDate getBusinessDay() { return businessDay; }
+    public void setBusinessDay(LocalDate businessDay) { this.businessDay = businessDay; }
+    
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+    
+    public Integer getSaleCount() { return saleCount; }
+    public void setSaleCount(Integer saleCount) { this.saleCount = saleCount; }
+    
+    public BigDecimal getQuantity() { return quantity; }
+    public void setQuantity(BigDecimal quantity) { this.quantity = quantity; }
+    
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+}
@@ -2,6 +2,7 @@ package com.bakerymanager.entity;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -40,15 +41,42 @@ public class Invoice {
     @Column(name = "source_file_name")
     private String sourceFileName;
     
+    // SHA-256 al fișierului sursă (XML sau arhiva ZIP), pentru detectarea reimporturilor
+    @Column(name = "source_sha256", length = 64, unique = true)
+    private String sourceSha256;
+    
     @Column(name = "status")
     private String status;
     
+    // Momentul recepției (stocul ingredientelor actualizat din liniile facturii)
+    @Column(name = "posted_at")
+    private LocalDateTime postedAt;
+    
     @Column(name = "number_of_lines")
     private Integer numberOfLines;
     
     @Column(name = "currency")
     private String currency;
     
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+    
+    // 380 factură, 381 notă de credit, 384 factură corectată
+    @Column(name = "invoice_type_code", length = 8)
+    private String invoiceTypeCode;
+    
+    @Column(name = "tax_exclusive_amount", precision = 12, scale = 2)
+    private BigDecimal taxExclusiveAmount;
+    
+    @Column(name = "vat_amount", precision = 12, scale = 2)
+    private BigDecimal vatAmount;
+    
+    @Column(name = "allowance_total", precision = 12, scale = 2)
+    private BigDecimal allowanceTotal;
+    
+    @Column(name = "charge_total", precision = 12, scale = 2)
+    private BigDecimal chargeTotal;
+    
     @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<InvoiceLine> invoiceLines;
     
@@ -123,12 +151,36 @@ public class Invoice {
     public String getSourceFileName() { return sourceFileName; }
     public void setSourceFileName(String sourceFileName) { this.sourceFileName = sourceFileName; }
     
+    public String getSourceSha256() { return sourceSha256; }
+    public void setSourceSha256(String sourceSha256) { this.sourceSha256 = sourceSha256; }
+    
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
     
+    public LocalDateTime getPostedAt() { return postedAt; }
+    public void setPostedAt(LocalDateTime postedAt) { this.postedAt = postedAt; }
+    
     public Integer getNumberOfLines() { return numberOfLines; }
     public void setNumberOfLines(Integer numberOfLines) { this.numberOfLines = numberOfLines; }
     
     public String getCurrency() { return currency; }
     public void setCurrency(String currency) { this.currency = currency; }
+    
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+    
+    public String getInvoiceTypeCode() { return invoiceTypeCode; }
+    public void setInvoiceTypeCode(String invoiceTypeCode) { this.invoiceTypeCode = invoiceTypeCode; }
+    
+    public BigDecimal getTaxExclusiveAmount() { return taxExclusiveAmount; }
+    public void setTaxExclusiveAmount(BigDecimal taxExclusiveAmount) { this.taxExclusiveAmount = taxExclusiveAmount; }
+    
+    public BigDecimal getVatAmount() { return vatAmount; }
+    public void setVatAmount(BigDecimal vatAmount) { this.vatAmount = vatAmount; }
+    
+    public BigDecimal getAllowanceTotal() { return allowanceTotal; }
+    public void setAllowanceTotal(BigDecimal allowanceTotal) { this.allowanceTotal = allowanceTotal; }
+    
+    public BigDecimal getChargeTotal() { return chargeTotal; }
+    public void setChargeTotal(BigDecimal chargeTotal) { this.chargeTotal = chargeTotal; }
 }
@@ -0,0 +1,56 @@
+package com.bakerymanager.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Arhiva SPV originală (ZIP cu factura și semnătura), păstrată byte cu byte pentru audit
+@Entity
+@Table(name = "invoice_archives")
+public class InvoiceArchive {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "invoice_id", nullable = false)
+    private Invoice invoice;
+    
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+    
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "content", nullable = false, columnDefinition = "blob")
+    private byte[] content;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+    
+    @Column(name = "imported_at")
+    private LocalDateTime importedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        importedAt = LocalDateTime.now();
+        sizeBytes = content != null ? (long) content.length : 0L;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Invoice getInvoice() { return invoice; }
+    public void setInvoice(Invoice invoice) { this.invoice = invoice; }
+    
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    
+    public byte[] getContent() { return content; }
+    public void setContent(byte[] content) { this.content = content; }
+    
+    public Long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(Long sizeBytes) { this.sizeBytes = sizeBytes; }
+    
+    public LocalDateTime getImportedAt() { return importedAt; }
+    public void setImportedAt(LocalDateTime importedAt) { this.importedAt = importedAt; }
+}
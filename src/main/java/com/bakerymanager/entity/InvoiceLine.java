@@ -1,5 +1,6 @@
 package com.bakerymanager.entity;
 
+import com.bakerymanager.config.BlockSequenceId;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 
@@ -8,7 +9,7 @@ import java.math.BigDecimal;
 public class InvoiceLine {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequenceId
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -31,6 +32,31 @@ public class InvoiceLine {
     @Column(name = "total_price", nullable = false, precision = 12, scale = 2)
     private BigDecimal totalPrice;
     
+    // Câmpuri din e-Factura (cac:InvoiceLine)
+    @Column(name = "line_number", length = 32)
+    private String lineNumber;
+    
+    // Cod UN/ECE Rec. 20 (KGM, H87, LTR...)
+    @Column(name = "unit_code", length = 8)
+    private String unitCode;
+    
+    @Column(name = "seller_item_code", length = 100)
+    private String sellerItemCode;
+    
+    @Column(name = "vat_category", length = 8)
+    private String vatCategory;
+    
+    @Column(name = "vat_percent", precision = 5, scale = 2)
+    private BigDecimal vatPercent;
+    
+    // Reduceri (negativ) și taxe suplimentare de pe linie, deja incluse în total_price
+    @Column(name = "allowance_amount", precision = 12, scale = 2)
+    private BigDecimal allowanceAmount;
+    
+    // Din maparea furnizorului: cantitatea în unitatea de stoc = quantity * conversionFactor (null: după unit_code)
+    @Column(name = "conversion_factor", precision = 12, scale = 6)
+    private BigDecimal conversionFactor;
+    
     @PrePersist
     protected void onCreate() {
         if (totalPrice == null) {
@@ -65,4 +91,25 @@ public class InvoiceLine {
     
     public BigDecimal getTotalPrice() { return totalPrice; }
     public void setTotalPrice(BigDecimal totalPrice) { this.totalPrice = totalPrice; }
+    
+    public String getLineNumber() { return lineNumber; }
+    public void setLineNumber(String lineNumber) { this.lineNumber = lineNumber; }
+    
+    public String getUnitCode() { return unitCode; }
+    public void setUnitCode(String unitCode) { this.unitCode = unitCode; }
+    
+    public String getSellerItemCode() { return sellerItemCode; }
+    public void setSellerItemCode(String sellerItemCode) { this.sellerItemCode = sellerItemCode; }
+    
+    public String getVatCategory() { return vatCategory; }
+    public void setVatCategory(String vatCategory) { this.vatCategory = vatCategory; }
+    
+    public BigDecimal getVatPercent() { return vatPercent; }
+    public void setVatPercent(BigDecimal vatPercent) { this.vatPercent = vatPercent; }
+    
+    public BigDecimal getAllowanceAmount() { return allowanceAmount; }
+    public void setAllowanceAmount(BigDecimal allowanceAmount) { this.allowanceAmount = allowanceAmount; }
+    
+    public BigDecimal getConversionFactor() { return conversionFactor; }
+    public void setConversionFactor(BigDecimal conversionFactor) { this.conversionFactor = conversionFactor; }
 }
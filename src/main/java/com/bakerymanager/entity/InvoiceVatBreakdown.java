@@ -0,0 +1,56 @@
+package com.bakerymanager.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+// Un rând din defalcarea TVA a facturii (cac:TaxSubtotal)
+@Entity
+@Table(name = "invoice_vat_breakdown")
+public class InvoiceVatBreakdown {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "invoice_id", nullable = false)
+    private Invoice invoice;
+    
+    // S standard, Z cota zero, E scutit, AE taxare inversă...
+    @Column(name = "category_id", length = 8)
+    private String categoryId;
+    
+    @Column(name = "percent", precision = 5, scale = 2)
+    private BigDecimal percent;
+    
+    @Column(name = "taxable_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal taxableAmount;
+    
+    @Column(name = "tax_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal taxAmount;
+    
+    @Column(name = "exemption_reason")
+    private String exemptionReason;
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Invoice getInvoice() { return invoice; }
+    public void setInvoice(Invoice invoice) { this.invoice = invoice; }
+    
+    public String getCategoryId() { return categoryId; }
+    public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+    
+    public BigDecimal getPercent() { return percent; }
+    public void setPercent(BigDecimal percent) { this.percent = percent; }
+    
+    public BigDecimal getTaxableAmount() { return taxableAmount; }
+    public void setTaxableAmount(BigDecimal taxableAmount) { this.taxableAmount = taxableAmount; }
+    
+    public BigDecimal getTaxAmount() { return taxAmount; }
+    public void setTaxAmount(BigDecimal taxAmount) { this.taxAmount = taxAmount; }
+    
+    public String getExemptionReason() { return exemptionReason; }
+    public void setExemptionReason(String exemptionReason) { this.exemptionReason = exemptionReason; }
+}
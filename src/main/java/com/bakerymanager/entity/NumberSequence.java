@@ -0,0 +1,31 @@
+package com.bakerymanager.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Contorul unei serii de numerotare; scris doar prin NumberSequenceRepository.reserveBlock
+@Entity
+@Table(name = "number_sequences")
+public class NumberSequence {
+    
+    @Id
+    @Column(name = "series", length = 64)
+    private String series;
+    
+    // Prima valoare încă nerezervată
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Getters and Setters
+    public String getSeries() { return series; }
+    public void setSeries(String series) { this.series = series; }
+    
+    public Long getNextValue() { return nextValue; }
+    public void setNextValue(Long nextValue) { this.nextValue = nextValue; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
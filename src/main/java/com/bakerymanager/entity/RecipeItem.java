@@ -1,14 +1,19 @@
 package com.bakerymanager.entity;
 
+import com.bakerymanager.config.BlockSequenceId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "recipe_items")
 public class RecipeItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequenceId
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,7 +1,9 @@
 package com.bakerymanager.entity;
 
+import com.bakerymanager.config.BlockSequenceId;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -10,12 +12,16 @@ import java.util.List;
 public class Sale {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequenceId
     private Long id;
     
     @Column(name = "sale_date", nullable = false)
     private LocalDateTime saleDate;
     
+    // Ziua comercială (ora locală) a vânzării, indexată pentru interogările pe zile
+    @Column(name = "sale_day", nullable = false)
+    private LocalDate saleDay;
+    
     @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
     private BigDecimal totalAmount;
     
@@ -56,6 +62,7 @@ public class Sale {
         if (saleDate == null) {
             saleDate = LocalDateTime.now();
         }
+        saleDay = saleDate.toLocalDate();
         if (totalAmount == null) {
             totalAmount = BigDecimal.ZERO;
         }
@@ -65,14 +72,14 @@ public class Sale {
         if (changeAmount == null) {
             changeAmount = BigDecimal.ZERO;
         }
-        if (invoiceNumber == null) {
-            invoiceNumber = "INV-" + System.currentTimeMillis();
-        }
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        if (saleDate != null) {
+            saleDay = saleDate.toLocalDate();
+        }
     }
     
     public void calculateTotal() {
@@ -88,7 +95,13 @@ public class Sale {
     public void setId(Long id) { this.id = id; }
     
     public LocalDateTime getSaleDate() { return saleDate; }
-    public void setSaleDate(LocalDateTime saleDate) { this.saleDate = saleDate; }
+    public void setSaleDate(LocalDateTime saleDate) { 
+        this.saleDate = saleDate;
+        this.saleDay = saleDate != null ? saleDate.toLocalDate() : null;
+    }
+    
+    public LocalDate getSaleDay() { return saleDay; }
+    public void setSaleDay(LocalDate saleDay) { this.saleDay = saleDay; }
     
     public BigDecimal getTotalAmount() { return totalAmount; }
     public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
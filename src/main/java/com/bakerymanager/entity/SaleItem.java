@@ -1,5 +1,6 @@
 package com.bakerymanager.entity;
 
+import com.bakerymanager.config.BlockSequenceId;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,7 +10,7 @@ import java.time.LocalDateTime;
 public class SaleItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequenceId
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,66 @@
+package com.bakerymanager.entity;
+
+import com.bakerymanager.config.BlockSequenceId;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// O intrare sau ieșire de stoc pentru un ingredient, cu documentul care a produs-o
+@Entity
+@Table(name = "stock_movements")
+public class StockMovement {
+    
+    public static final String TYPE_RECEPTION = "RECEPTIE";
+    
+    @Id
+    @BlockSequenceId
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ingredient_id", nullable = false)
+    private Ingredient ingredient;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "invoice_id")
+    private Invoice invoice;
+    
+    @Column(name = "movement_type", nullable = false, length = 20)
+    private String movementType;
+    
+    // În unitatea de stoc a ingredientului; pozitiv la intrare
+    @Column(name = "quantity", nullable = false, precision = 12, scale = 3)
+    private BigDecimal quantity;
+    
+    @Column(name = "unit_price", precision = 10, scale = 4)
+    private BigDecimal unitPrice;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Ingredient getIngredient() { return ingredient; }
+    public void setIngredient(Ingredient ingredient) { this.ingredient = ingredient; }
+    
+    public Invoice getInvoice() { return invoice; }
+    public void setInvoice(Invoice invoice) { this.invoice = invoice; }
+    
+    public String getMovementType() { return movementType; }
+    public void setMovementType(String movementType) { this.movementType = movementType; }
+    
+    public BigDecimal getQuantity() { return quantity; }
+    public void setQuantity(BigDecimal quantity) { this.quantity = quantity; }
+    
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(BigDecimal unitPrice) { this.unitPrice = unitPrice; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
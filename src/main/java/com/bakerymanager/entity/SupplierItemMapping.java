@@ -0,0 +1,73 @@
+package com.bakerymanager.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// (CUI furnizor, cod articol furnizor) -> ingredient, cu factorul de conversie din unitatea facturată în unitatea de stoc
+@Entity
+@Table(name = "supplier_item_mappings")
+public class SupplierItemMapping {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "supplier_cui", nullable = false, length = 32)
+    private String supplierCui;
+    
+    @Column(name = "seller_item_code", nullable = false, length = 100)
+    private String sellerItemCode;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ingredient_id", nullable = false)
+    private Ingredient ingredient;
+    
+    @Column(name = "unit_code", length = 8)
+    private String unitCode;
+    
+    @Column(name = "conversion_factor", nullable = false, precision = 12, scale = 6)
+    private BigDecimal conversionFactor = BigDecimal.ONE;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getSupplierCui() { return supplierCui; }
+    public void setSupplierCui(String supplierCui) { this.supplierCui = supplierCui; }
+    
+    public String getSellerItemCode() { return sellerItemCode; }
+    public void setSellerItemCode(String sellerItemCode) { this.sellerItemCode = sellerItemCode; }
+    
+    public Ingredient getIngredient() { return ingredient; }
+    public void setIngredient(Ingredient ingredient) { this.ingredient = ingredient; }
+    
+    public String getUnitCode() { return unitCode; }
+    public void setUnitCode(String unitCode) { this.unitCode = unitCode; }
+    
+    public BigDecimal getConversionFactor() { return conversionFactor; }
+    public void setConversionFactor(BigDecimal conversionFactor) { this.conversionFactor = conversionFactor; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,40 @@
+package com.bakerymanager.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Update-urile JDBC directe ocolesc Hibernate, deci cache-ul de nivel 2 trebuie golit explicit
+// pentru rândurile atinse. Golim imediat și încă o dată după commit, ca o citire concurentă
+// făcută înainte de commit să nu repună în cache valoarea veche.
+final class CacheEviction {
+    
+    private CacheEviction() {}
+    
+    static void evictAfterNativeUpdate(EntityManager entityManager, Class<?> entityClass, Iterable<?> ids) {
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        List<Object> evictedIds = new ArrayList<>();
+        ids.forEach(evictedIds::add);
+        
+        Runnable evict = () -> {
+            for (Object id : evictedIds) {
+                sessionFactory.getCache().evictEntityData(entityClass, id);
+            }
+            sessionFactory.getCache().evictDefaultQueryRegion();
+        };
+        evict.run();
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+}
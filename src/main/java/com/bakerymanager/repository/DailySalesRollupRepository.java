@@ -0,0 +1,30 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.entity.DailySalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, Long>, DailySalesRollupRepositoryCustom {
+    
+    @Query("SELECT r.productId, MAX(r.productName), SUM(r.saleCount), SUM(r.quantity), SUM(r.revenue) " +
+           "FROM DailySalesRollup r " +
+           "WHERE r.businessDay >= :startDay AND r.businessDay <= :endDay " +
+           "GROUP BY r.productId " +
+           "ORDER BY SUM(r.revenue) DESC")
+    List<Object[]> getProductTotals(@Param("startDay") LocalDate startDay, 
+                                    @Param("endDay") LocalDate endDay);
+    
+    @Query("SELECT r.businessDay, SUM(r.quantity), SUM(r.revenue) " +
+           "FROM DailySalesRollup r " +
+           "WHERE r.businessDay >= :startDay AND r.businessDay <= :endDay " +
+           "GROUP BY r.businessDay " +
+           "ORDER BY r.businessDay")
+    List<Object[]> getDailyTotals(@Param("startDay") LocalDate startDay, 
+                                  @Param("endDay") LocalDate endDay);
+}
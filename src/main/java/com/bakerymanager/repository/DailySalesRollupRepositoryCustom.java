@@ -0,0 +1,16 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.dto.SalesRollupDelta;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface DailySalesRollupRepositoryCustom {
+    
+    // Adună delta-urile la rândurile (zi, produs) cu INSERT ... ON CONFLICT, într-un singur batch,
+    // apoi șterge rândurile zilei care au rămas fără bonuri
+    void applyDeltas(LocalDate businessDay, Collection<SalesRollupDelta> deltas);
+    
+    // Regenerează tot agregatul din vânzările existente; întoarce numărul de rânduri
+    int rebuildFromSales();
+}
@@ -0,0 +1,75 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.dto.SalesRollupDelta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Collection;
+
+public class DailySalesRollupRepositoryImpl implements DailySalesRollupRepositoryCustom {
+    
+    private static final String UPSERT_SQL =
+        "INSERT INTO daily_sales_rollup (business_day, product_id, product_name, sale_count, quantity, revenue) " +
+        "VALUES (?, ?, ?, ?, ROUND(?, 3), ROUND(?, 2)) " +
+        "ON CONFLICT (business_day, product_id) DO UPDATE SET " +
+        "product_name = excluded.product_name, " +
+        "sale_count = sale_count + excluded.sale_count, " +
+        "quantity = ROUND(quantity + excluded.quantity, 3), " +
+        "revenue = ROUND(revenue + excluded.revenue, 2)";
+    
+    private static final String DELETE_EMPTY_SQL =
+        "DELETE FROM daily_sales_rollup WHERE business_day = ? AND sale_count <= 0";
+    
+    // Aceeași agregare ca în migrarea V4
+    private static final String REBUILD_SQL =
+        "INSERT INTO daily_sales_rollup (business_day, product_id, product_name, sale_count, quantity, revenue) " +
+        "SELECT s.sale_day, si.product_id, MAX(si.product_name), COUNT(DISTINCT s.id), " +
+        "ROUND(SUM(si.quantity), 3), ROUND(SUM(si.total_price), 2) " +
+        "FROM sale_items si JOIN sales s ON s.id = si.sale_id " +
+        "GROUP BY s.sale_day, si.product_id";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public void applyDeltas(LocalDate businessDay, Collection<SalesRollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // java.sql.Date se scrie la fel ca LocalDate prin Hibernate (milisecunde la miezul nopții local)
+        Date day = Date.valueOf(businessDay);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL)) {
+                for (SalesRollupDelta delta : deltas) {
+                    ps.setDate(1, day);
+                    ps.setLong(2, delta.getProductId());
+                    ps.setString(3, delta.getProductName());
+                    ps.setInt(4, delta.getSaleCount());
+                    ps.setBigDecimal(5, delta.getQuantity());
+                    ps.setBigDecimal(6, delta.getRevenue());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            try (PreparedStatement ps = connection.prepareStatement(DELETE_EMPTY_SQL)) {
+                ps.setDate(1, day);
+                ps.executeUpdate();
+            }
+        });
+    }
+    
+    @Override
+    public int rebuildFromSales() {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM daily_sales_rollup");
+                return statement.executeUpdate(REBUILD_SQL);
+            }
+        });
+    }
+}
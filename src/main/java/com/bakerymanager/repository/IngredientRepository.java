@@ -1,17 +1,26 @@
 package com.bakerymanager.repository;
 
 import com.bakerymanager.entity.Ingredient;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
-public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
+public interface IngredientRepository extends JpaRepository<Ingredient, Long>, IngredientRepositoryCustom {
+    
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Ingredient> findAll();
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Ingredient> findByName(String name);
     
     List<Ingredient> findByNameContainingIgnoreCase(String name);
@@ -19,9 +28,16 @@ public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
     @Query("SELECT i FROM Ingredient i WHERE i.currentStock <= i.minimumStock")
     List<Ingredient> findLowStockIngredients();
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT i FROM Ingredient i WHERE i.currentStock > 0 ORDER BY i.name")
     List<Ingredient> findAvailableIngredients();
     
+    @Query("SELECT COUNT(i) FROM Ingredient i WHERE i.currentStock > 0")
+    long countAvailableIngredients();
+    
+    @Query("SELECT COUNT(i) FROM Ingredient i WHERE i.currentStock <= i.minimumStock")
+    long countLowStockIngredients();
+    
     @Query("SELECT i FROM Ingredient i WHERE i.unitOfMeasure = :unitOfMeasure")
     List<Ingredient> findByUnitOfMeasure(@Param("unitOfMeasure") Ingredient.UnitOfMeasure unitOfMeasure);
 }
@@ -0,0 +1,14 @@
+package com.bakerymanager.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public interface IngredientRepositoryCustom {
+    
+    // Scade stocul pentru mai multe ingrediente într-un singur batch JDBC, doar acolo unde stocul ajunge.
+    // Rezultatul are câte o valoare (rânduri afectate: 1 sau 0) pentru fiecare intrare, în ordinea map-ului.
+    int[] decrementStockBatch(Map<Long, BigDecimal> quantitiesByIngredientId);
+    
+    // Recepție: adaugă cantitatea și setează ultimul preț de achiziție, un UPDATE pe ingredient, într-un singur batch
+    int[] receiveStockBatch(Map<Long, BigDecimal> quantitiesByIngredientId, Map<Long, BigDecimal> unitPricesByIngredientId);
+}
@@ -0,0 +1,71 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.entity.Ingredient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class IngredientRepositoryImpl implements IngredientRepositoryCustom {
+    
+    // Aceeași comparație rotunjită ca la produse (stoc REAL, BigDecimal legat ca text)
+    private static final String DECREMENT_SQL =
+        "UPDATE ingredients SET current_stock = ROUND(current_stock - ?, 3), updated_at = ? " +
+        "WHERE id = ? AND ROUND(current_stock, 3) >= ROUND(?, 3)";
+    
+    private static final String RECEIVE_SQL =
+        "UPDATE ingredients SET current_stock = ROUND(current_stock + ?, 3), " +
+        "last_purchase_price = COALESCE(ROUND(?, 2), last_purchase_price), updated_at = ? WHERE id = ?";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public int[] decrementStockBatch(Map<Long, BigDecimal> quantitiesByIngredientId) {
+        if (quantitiesByIngredientId.isEmpty()) {
+            return new int[0];
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] updated = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(DECREMENT_SQL)) {
+                for (Map.Entry<Long, BigDecimal> entry : quantitiesByIngredientId.entrySet()) {
+                    ps.setBigDecimal(1, entry.getValue());
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, entry.getKey());
+                    ps.setBigDecimal(4, entry.getValue());
+                    ps.addBatch();
+                }
+                return ps.executeBatch();
+            }
+        });
+        CacheEviction.evictAfterNativeUpdate(entityManager, Ingredient.class, quantitiesByIngredientId.keySet());
+        return updated;
+    }
+    
+    @Override
+    public int[] receiveStockBatch(Map<Long, BigDecimal> quantitiesByIngredientId, Map<Long, BigDecimal> unitPricesByIngredientId) {
+        if (quantitiesByIngredientId.isEmpty()) {
+            return new int[0];
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] updated = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(RECEIVE_SQL)) {
+                for (Map.Entry<Long, BigDecimal> entry : quantitiesByIngredientId.entrySet()) {
+                    ps.setBigDecimal(1, entry.getValue());
+                    ps.setBigDecimal(2, unitPricesByIngredientId.get(entry.getKey()));
+                    ps.setTimestamp(3, now);
+                    ps.setLong(4, entry.getKey());
+                    ps.addBatch();
+                }
+                return ps.executeBatch();
+            }
+        });
+        CacheEviction.evictAfterNativeUpdate(entityManager, Ingredient.class, quantitiesByIngredientId.keySet());
+        return updated;
+    }
+}
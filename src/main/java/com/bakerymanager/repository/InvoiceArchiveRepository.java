@@ -0,0 +1,16 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.entity.InvoiceArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface InvoiceArchiveRepository extends JpaRepository<InvoiceArchive, Long> {
+    
+    @Query("SELECT a FROM InvoiceArchive a WHERE a.invoice.id = :invoiceId")
+    Optional<InvoiceArchive> findByInvoiceId(@Param("invoiceId") Long invoiceId);
+}
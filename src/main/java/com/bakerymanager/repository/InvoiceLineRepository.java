@@ -11,7 +11,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface InvoiceLineRepository extends JpaRepository<InvoiceLine, Long> {
+public interface InvoiceLineRepository extends JpaRepository<InvoiceLine, Long>, InvoiceLineRepositoryCustom {
     
     List<InvoiceLine> findByInvoice(Invoice invoice);
     
@@ -20,6 +20,11 @@ public interface InvoiceLineRepository extends JpaRepository<InvoiceLine, Long>
     @Query("SELECT il FROM InvoiceLine il WHERE il.invoice.id = :invoiceId")
     List<InvoiceLine> findByInvoiceId(@Param("invoiceId") Long invoiceId);
     
+    // Pentru recepție: doar coloanele necesare agregării pe ingredient, plus unitatea de stoc
+    @Query("SELECT il.ingredient.id, il.ingredient.unitOfMeasure, il.quantity, il.unitCode, il.conversionFactor, il.totalPrice " +
+           "FROM InvoiceLine il WHERE il.invoice.id = :invoiceId")
+    List<Object[]> findReceptionRows(@Param("invoiceId") Long invoiceId);
+    
     @Query("SELECT il FROM InvoiceLine il WHERE il.ingredient.id = :ingredientId ORDER BY il.invoice.invoiceDate DESC")
     List<InvoiceLine> findByIngredientId(@Param("ingredientId") Long ingredientId);
     
@@ -0,0 +1,12 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.entity.InvoiceLine;
+
+import java.util.List;
+
+public interface InvoiceLineRepositoryCustom {
+    
+    // Inserează liniile într-un batch JDBC și le scoate din contextul de persistență,
+    // ca importul facturilor mari să nu țină toate liniile în memorie
+    void persistAndDetach(List<InvoiceLine> lines);
+}
@@ -0,0 +1,28 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.entity.InvoiceLine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+public class InvoiceLineRepositoryImpl implements InvoiceLineRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public void persistAndDetach(List<InvoiceLine> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        for (InvoiceLine line : lines) {
+            entityManager.persist(line);
+        }
+        entityManager.flush();
+        // Doar liniile se detașează; factura și ingredientele rămân gestionate
+        for (InvoiceLine line : lines) {
+            entityManager.detach(line);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,15 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
     
+    @Query("SELECT i.invoiceNumber FROM Invoice i WHERE i.invoiceNumber IN :numbers")
+    List<String> findExistingInvoiceNumbers(@Param("numbers") Collection<String> numbers);
+    
+    Optional<Invoice> findBySourceSha256(String sourceSha256);
+    
+    // Perechi (hash, număr factură) pentru fișierele deja importate
+    @Query("SELECT i.sourceSha256, i.invoiceNumber FROM Invoice i WHERE i.sourceSha256 IN :hashes")
+    List<Object[]> findImportedSourceHashes(@Param("hashes") Collection<String> hashes);
+    
     List<Invoice> findBySupplierNameContainingIgnoreCase(String supplierName);
     
     List<Invoice> findByIsSpvImportedTrue();
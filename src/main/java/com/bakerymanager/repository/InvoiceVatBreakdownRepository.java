@@ -0,0 +1,16 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.entity.InvoiceVatBreakdown;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InvoiceVatBreakdownRepository extends JpaRepository<InvoiceVatBreakdown, Long> {
+    
+    @Query("SELECT v FROM InvoiceVatBreakdown v WHERE v.invoice.id = :invoiceId ORDER BY v.percent DESC")
+    List<InvoiceVatBreakdown> findByInvoiceId(@Param("invoiceId") Long invoiceId);
+}
@@ -0,0 +1,9 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.entity.NumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NumberSequenceRepository extends JpaRepository<NumberSequence, String>, NumberSequenceRepositoryCustom {
+}
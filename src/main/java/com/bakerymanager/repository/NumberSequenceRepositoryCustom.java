@@ -0,0 +1,8 @@
+package com.bakerymanager.repository;
+
+public interface NumberSequenceRepositoryCustom {
+    
+    // Mută pragul seriei cu blockSize în tranzacția curentă și întoarce prima valoare a blocului rezervat;
+    // seria se creează de la 1 dacă nu există
+    long reserveBlock(String series, int blockSize);
+}
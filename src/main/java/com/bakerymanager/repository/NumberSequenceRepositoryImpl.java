@@ -0,0 +1,64 @@
+package com.bakerymanager.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+public class NumberSequenceRepositoryImpl implements NumberSequenceRepositoryCustom {
+    
+    private static final String CREATE_SQL =
+        "INSERT OR IGNORE INTO number_sequences (series, next_value, updated_at) VALUES (?, 1, ?)";
+    
+    // Seriile de id-uri pornesc după cel mai mare id existent în tabelă
+    private static final String CREATE_FROM_TABLE_SQL =
+        "INSERT OR IGNORE INTO number_sequences (series, next_value, updated_at) " +
+        "SELECT ?, COALESCE(MAX(id), 0) + 1, ? FROM %s";
+    
+    // Un singur statement: incrementul și citirea pragului nou nu pot fi separate de alt scriitor
+    private static final String RESERVE_SQL =
+        "UPDATE number_sequences SET next_value = next_value + ?, updated_at = ? " +
+        "WHERE series = ? RETURNING next_value";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public long reserveBlock(String series, int blockSize) {
+        return entityManager.unwrap(Session.class).doReturningWork(
+            connection -> reserveBlock(connection, series, blockSize, null));
+    }
+    
+    // Folosit și de generatorul de id-uri, pe conexiunea sesiunii Hibernate;
+    // seedTable != null: seria nouă pornește de la MAX(id) + 1 din acea tabelă
+    public static long reserveBlock(Connection connection, String series, int blockSize, String seedTable)
+            throws SQLException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Dimensiunea blocului trebuie să fie pozitivă");
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String createSql = seedTable != null ? String.format(CREATE_FROM_TABLE_SQL, seedTable) : CREATE_SQL;
+        try (PreparedStatement ps = connection.prepareStatement(createSql)) {
+            ps.setString(1, series);
+            ps.setTimestamp(2, now);
+            ps.executeUpdate();
+        }
+        try (PreparedStatement ps = connection.prepareStatement(RESERVE_SQL)) {
+            ps.setInt(1, blockSize);
+            ps.setTimestamp(2, now);
+            ps.setString(3, series);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Seria de numerotare lipsește: " + series);
+                }
+                return rs.getLong(1) - blockSize;
+            }
+        }
+    }
+}
@@ -1,33 +1,61 @@
 package com.bakerymanager.repository;
 
 import com.bakerymanager.entity.Product;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+    
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Product> findAll();
     
     Optional<Product> findByName(String name);
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Product> findByBarcode(String barcode);
     
     List<Product> findByNameContainingIgnoreCase(String name);
     
     List<Product> findByIsActiveTrue();
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Product> findByIsActiveTrueOrderByName();
     
     @Query("SELECT p FROM Product p WHERE p.physicalStock <= p.minimumStock AND p.isActive = true")
     List<Product> findLowStockProducts();
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Product p WHERE p.physicalStock > 0 AND p.isActive = true ORDER BY p.name")
     List<Product> findAvailableProducts();
     
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.physicalStock > 0 AND p.isActive = true")
+    long countAvailableProducts();
+    
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.physicalStock <= p.minimumStock AND p.isActive = true")
+    long countLowStockProducts();
+    
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR p.barcode = :searchTerm")
     List<Product> searchProducts(@Param("searchTerm") String searchTerm);
+    
+    // Scădere condiționată: 1 rând afectat dacă stocul a ajuns, 0 altfel (fără citire prealabilă)
+    @Modifying
+    @Query("UPDATE Product p SET p.physicalStock = ROUND(p.physicalStock - :quantity, 3), p.updatedAt = :now " +
+           "WHERE p.id = :id AND ROUND(p.physicalStock, 3) >= ROUND(:quantity, 3)")
+    int decrementStockIfAvailable(@Param("id") Long id, 
+                                  @Param("quantity") BigDecimal quantity, 
+                                  @Param("now") LocalDateTime now);
 }
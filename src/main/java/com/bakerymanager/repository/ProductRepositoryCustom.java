@@ -0,0 +1,13 @@
+package com.bakerymanager.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public interface ProductRepositoryCustom {
+    
+    // Scade stocul pentru mai multe produse într-un singur batch JDBC, doar acolo unde stocul ajunge.
+    // Rezultatul are câte o valoare (rânduri afectate: 1 sau 0) pentru fiecare intrare, în ordinea map-ului.
+    int[] decrementStockBatch(Map<Long, BigDecimal> quantitiesByProductId);
+    
+    int[] incrementStockBatch(Map<Long, BigDecimal> quantitiesByProductId);
+}
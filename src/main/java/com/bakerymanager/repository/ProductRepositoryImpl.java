@@ -0,0 +1,70 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+    
+    // Stocul e REAL în SQLite, iar driverul leagă BigDecimal ca text: ambele părți trec prin ROUND(..., 3)
+    // ca să fie comparate numeric, la scala coloanei, fără erori de virgulă mobilă
+    private static final String DECREMENT_SQL =
+        "UPDATE products SET physical_stock = ROUND(physical_stock - ?, 3), updated_at = ? " +
+        "WHERE id = ? AND ROUND(physical_stock, 3) >= ROUND(?, 3)";
+    
+    private static final String INCREMENT_SQL =
+        "UPDATE products SET physical_stock = ROUND(physical_stock + ?, 3), updated_at = ? WHERE id = ?";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public int[] decrementStockBatch(Map<Long, BigDecimal> quantitiesByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            return new int[0];
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] updated = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(DECREMENT_SQL)) {
+                for (Map.Entry<Long, BigDecimal> entry : quantitiesByProductId.entrySet()) {
+                    ps.setBigDecimal(1, entry.getValue());
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, entry.getKey());
+                    ps.setBigDecimal(4, entry.getValue());
+                    ps.addBatch();
+                }
+                return ps.executeBatch();
+            }
+        });
+        CacheEviction.evictAfterNativeUpdate(entityManager, Product.class, quantitiesByProductId.keySet());
+        return updated;
+    }
+    
+    @Override
+    public int[] incrementStockBatch(Map<Long, BigDecimal> quantitiesByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            return new int[0];
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] updated = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INCREMENT_SQL)) {
+                for (Map.Entry<Long, BigDecimal> entry : quantitiesByProductId.entrySet()) {
+                    ps.setBigDecimal(1, entry.getValue());
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, entry.getKey());
+                    ps.addBatch();
+                }
+                return ps.executeBatch();
+            }
+        });
+        CacheEviction.evictAfterNativeUpdate(entityManager, Product.class, quantitiesByProductId.keySet());
+        return updated;
+    }
+}
@@ -1,28 +1,41 @@
 package com.bakerymanager.repository;
 
+import com.bakerymanager.dto.RecipeLineView;
 import com.bakerymanager.entity.RecipeItem;
 import com.bakerymanager.entity.Product;
 import com.bakerymanager.entity.Ingredient;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface RecipeItemRepository extends JpaRepository<RecipeItem, Long> {
     
+    @EntityGraph(attributePaths = "ingredient")
     List<RecipeItem> findByProduct(Product product);
     
     List<RecipeItem> findByIngredient(Ingredient ingredient);
     
     Optional<RecipeItem> findByProductAndIngredient(Product product, Ingredient ingredient);
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT ri FROM RecipeItem ri WHERE ri.product.id = :productId")
     List<RecipeItem> findByProductId(@Param("productId") Long productId);
     
+    // Rețeta împreună cu ingredientele, într-o singură interogare
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT ri FROM RecipeItem ri JOIN FETCH ri.ingredient WHERE ri.product.id = :productId")
+    List<RecipeItem> findByProductIdWithIngredients(@Param("productId") Long productId);
+    
     @Query("SELECT ri FROM RecipeItem ri WHERE ri.ingredient.id = :ingredientId")
     List<RecipeItem> findByIngredientId(@Param("ingredientId") Long ingredientId);
     
@@ -31,4 +44,9 @@ public interface RecipeItemRepository extends JpaRepository<RecipeItem, Long> {
     
     @Query("SELECT ri FROM RecipeItem ri WHERE ri.product = :product ORDER BY ri.ingredient.name")
     List<RecipeItem> findByProductOrderByIngredientName(@Param("product") Product product);
+    
+    // Rețeta pentru afișare: nume, unitate și stoc ingredient într-o singură interogare
+    @Query("SELECT new com.bakerymanager.dto.RecipeLineView(ri.id, i.id, i.name, i.unitOfMeasure, ri.requiredQuantity, i.currentStock) " +
+           "FROM RecipeItem ri JOIN ri.ingredient i WHERE ri.product.id = :productId ORDER BY i.name")
+    List<RecipeLineView> findRecipeLinesByProductId(@Param("productId") Long productId);
 }
@@ -7,12 +7,13 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SaleRepository extends JpaRepository<Sale, Long> {
+public interface SaleRepository extends JpaRepository<Sale, Long>, SaleRepositoryCustom {
     
     List<Sale> findBySaleDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
@@ -22,6 +23,8 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     
     Optional<Sale> findByInvoiceNumber(String invoiceNumber);
     
+    boolean existsByInvoiceNumber(String invoiceNumber);
+    
     @Query("SELECT s FROM Sale s WHERE s.saleDate >= :startDate AND s.saleDate <= :endDate ORDER BY s.saleDate DESC")
     List<Sale> findSalesByDateRange(@Param("startDate") LocalDateTime startDate, 
                                       @Param("endDate") LocalDateTime endDate);
@@ -34,11 +37,33 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     Long getSalesCountByDateRange(@Param("startDate") LocalDateTime startDate, 
                                    @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT s FROM Sale s WHERE DATE(s.saleDate) = DATE('now') ORDER BY s.saleDate DESC")
-    List<Sale> findTodaySales();
+    @Query("SELECT s FROM Sale s WHERE s.saleDay = :day ORDER BY s.saleDate DESC")
+    List<Sale> findSalesByDay(@Param("day") LocalDate day);
+    
+    @Query("SELECT SUM(s.totalAmount) FROM Sale s WHERE s.saleDay = :day")
+    BigDecimal getTotalSalesByDay(@Param("day") LocalDate day);
+    
+    @Query("SELECT COUNT(s) FROM Sale s WHERE s.saleDay = :day")
+    Long getSalesCountByDay(@Param("day") LocalDate day);
     
-    @Query("SELECT SUM(s.totalAmount) FROM Sale s WHERE DATE(s.saleDate) = DATE('now')")
-    BigDecimal getTodayTotalSales();
+    @Query("SELECT s.saleDay, COUNT(s), SUM(s.totalAmount) FROM Sale s " +
+           "WHERE s.saleDay >= :startDay AND s.saleDay <= :endDay " +
+           "GROUP BY s.saleDay ORDER BY s.saleDay")
+    List<Object[]> getDailyTotalsByDayRange(@Param("startDay") LocalDate startDay, 
+                                            @Param("endDay") LocalDate endDay);
     
     List<Sale> findTop10ByOrderBySaleDateDesc();
+    
+    // Salturi în idx_sales_operator_date (câte o căutare per valoare distinctă), nu o parcurgere a tuturor vânzărilor
+    @Query(value = "WITH RECURSIVE ops(value) AS (SELECT MIN(operator) FROM sales " +
+                   "UNION ALL SELECT (SELECT MIN(operator) FROM sales WHERE operator > ops.value) " +
+                   "FROM ops WHERE ops.value IS NOT NULL) " +
+                   "SELECT value FROM ops WHERE value IS NOT NULL", nativeQuery = true)
+    List<String> findDistinctOperators();
+    
+    @Query(value = "WITH RECURSIVE methods(value) AS (SELECT MIN(payment_method) FROM sales " +
+                   "UNION ALL SELECT (SELECT MIN(payment_method) FROM sales WHERE payment_method > methods.value) " +
+                   "FROM methods WHERE methods.value IS NOT NULL) " +
+                   "SELECT value FROM methods WHERE value IS NOT NULL", nativeQuery = true)
+    List<String> findDistinctPaymentMethods();
 }
@@ -0,0 +1,17 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.dto.SaleHistoryFilter;
+import com.bakerymanager.dto.SaleHistoryRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SaleRepositoryCustom {
+    
+    // Paginare keyset pe (sale_date, id), de la cele mai noi la cele mai vechi.
+    // Cu cursor null se întoarce prima pagină; altfel rândurile strict mai vechi decât cursorul.
+    List<SaleHistoryRow> findHistoryOlderThan(SaleHistoryFilter filter, LocalDateTime cursorDate, Long cursorId, int limit);
+    
+    // Rândurile strict mai noi decât cursorul (cele mai apropiate de el), tot în ordine descrescătoare
+    List<SaleHistoryRow> findHistoryNewerThan(SaleHistoryFilter filter, LocalDateTime cursorDate, Long cursorId, int limit);
+}
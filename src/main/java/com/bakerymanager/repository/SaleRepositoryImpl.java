@@ -0,0 +1,93 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.dto.SaleHistoryFilter;
+import com.bakerymanager.dto.SaleHistoryRow;
+import com.bakerymanager.entity.Sale;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class SaleRepositoryImpl implements SaleRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<SaleHistoryRow> findHistoryOlderThan(SaleHistoryFilter filter, LocalDateTime cursorDate, 
+                                                     Long cursorId, int limit) {
+        return findHistoryPage(filter, cursorDate, cursorId, limit, true);
+    }
+    
+    @Override
+    public List<SaleHistoryRow> findHistoryNewerThan(SaleHistoryFilter filter, LocalDateTime cursorDate, 
+                                                     Long cursorId, int limit) {
+        List<SaleHistoryRow> rows = findHistoryPage(filter, cursorDate, cursorId, limit, false);
+        Collections.reverse(rows);
+        return rows;
+    }
+    
+    private List<SaleHistoryRow> findHistoryPage(SaleHistoryFilter filter, LocalDateTime cursorDate, 
+                                                 Long cursorId, int limit, boolean older) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SaleHistoryRow> query = cb.createQuery(SaleHistoryRow.class);
+        Root<Sale> sale = query.from(Sale.class);
+        Path<LocalDateTime> saleDate = sale.get("saleDate");
+        Path<Long> id = sale.get("id");
+        
+        query.select(cb.construct(SaleHistoryRow.class,
+            id, saleDate, sale.get("invoiceNumber"), sale.get("operator"),
+            sale.get("paymentMethod"), sale.get("totalAmount")));
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (cursorDate != null && cursorId != null) {
+            if (older) {
+                // Condiția redundantă pe sale_date dă indexului un capăt de interval,
+                // deci pagina N costă la fel ca prima (fără OFFSET)
+                predicates.add(cb.lessThanOrEqualTo(saleDate, cursorDate));
+                predicates.add(cb.or(
+                    cb.lessThan(saleDate, cursorDate),
+                    cb.and(cb.equal(saleDate, cursorDate), cb.lessThan(id, cursorId))));
+            } else {
+                predicates.add(cb.greaterThanOrEqualTo(saleDate, cursorDate));
+                predicates.add(cb.or(
+                    cb.greaterThan(saleDate, cursorDate),
+                    cb.and(cb.equal(saleDate, cursorDate), cb.greaterThan(id, cursorId))));
+            }
+        }
+        
+        if (filter != null) {
+            if (filter.getOperator() != null && !filter.getOperator().isBlank()) {
+                predicates.add(cb.equal(sale.get("operator"), filter.getOperator().trim()));
+            }
+            if (filter.getPaymentMethod() != null && !filter.getPaymentMethod().isBlank()) {
+                predicates.add(cb.equal(sale.get("paymentMethod"), filter.getPaymentMethod()));
+            }
+            if (filter.getMinAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(sale.get("totalAmount"), filter.getMinAmount()));
+            }
+            if (filter.getMaxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(sale.get("totalAmount"), filter.getMaxAmount()));
+            }
+        }
+        
+        query.where(predicates.toArray(new Predicate[0]));
+        if (older) {
+            query.orderBy(cb.desc(saleDate), cb.desc(id));
+        } else {
+            query.orderBy(cb.asc(saleDate), cb.asc(id));
+        }
+        
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
@@ -0,0 +1,19 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.entity.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+    
+    @Query("SELECT m FROM StockMovement m WHERE m.invoice.id = :invoiceId")
+    List<StockMovement> findByInvoiceId(@Param("invoiceId") Long invoiceId);
+    
+    @Query("SELECT m FROM StockMovement m WHERE m.ingredient.id = :ingredientId ORDER BY m.createdAt DESC")
+    List<StockMovement> findByIngredientId(@Param("ingredientId") Long ingredientId);
+}
@@ -0,0 +1,25 @@
+package com.bakerymanager.repository;
+
+import com.bakerymanager.entity.SupplierItemMapping;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SupplierItemMappingRepository extends JpaRepository<SupplierItemMapping, Long> {
+    
+    Optional<SupplierItemMapping> findBySupplierCuiAndSellerItemCode(String supplierCui, String sellerItemCode);
+    
+    // Doar coloanele necesare indexului din memorie, fără a încărca ingredientele
+    @Query("SELECT m.supplierCui, m.sellerItemCode, m.ingredient.id, m.unitCode, m.conversionFactor FROM SupplierItemMapping m")
+    List<Object[]> findAllKeys();
+    
+    @Modifying
+    @Query("DELETE FROM SupplierItemMapping m WHERE m.ingredient.id = :ingredientId")
+    int deleteByIngredientId(@Param("ingredientId") Long ingredientId);
+}
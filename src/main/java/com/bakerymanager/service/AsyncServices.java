@@ -0,0 +1,137 @@
+package com.bakerymanager.service;
+
+import jakarta.annotation.PreDestroy;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Apelurile controllerelor către servicii, rulate în afara firului JavaFX, pe fire virtuale.
+ * Fiecare apel întoarce un CompletableFuture finalizat pe firul JavaFX (prin Platform.runLater),
+ * deci callback-urile lui pot actualiza direct interfața. cancel(true) pe future întrerupe firul
+ * de lucru, iar rezultatul lui nu mai ajunge în interfață. runningTasksProperty/busyBinding
+ * alimentează indicatorii de activitate.
+ */
+@Service
+public class AsyncServices {
+
+    // Apelul către serviciu; poate arunca excepții verificate (ex. IOException la import)
+    @FunctionalInterface
+    public interface ServiceCall<S, T> {
+        T call(S service) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T call() throws Exception;
+    }
+
+    private final SaleService saleService;
+    private final ProductService productService;
+    private final IngredientService ingredientService;
+    private final ProductionService productionService;
+    private final InvoiceService invoiceService;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("ui-task-", 1).factory());
+
+    // Modificat doar pe firul JavaFX
+    private final ReadOnlyIntegerWrapper runningTasks = new ReadOnlyIntegerWrapper(0);
+    private final BooleanBinding busy = Bindings.greaterThan(runningTasks, 0);
+
+    public AsyncServices(SaleService saleService, ProductService productService, IngredientService ingredientService,
+                         ProductionService productionService, InvoiceService invoiceService) {
+        this.saleService = saleService;
+        this.productService = productService;
+        this.ingredientService = ingredientService;
+        this.productionService = productionService;
+        this.invoiceService = invoiceService;
+    }
+
+    public <T> CompletableFuture<T> sales(ServiceCall<SaleService, T> call) {
+        return submit(() -> call.call(saleService));
+    }
+
+    public <T> CompletableFuture<T> products(ServiceCall<ProductService, T> call) {
+        return submit(() -> call.call(productService));
+    }
+
+    public <T> CompletableFuture<T> ingredients(ServiceCall<IngredientService, T> call) {
+        return submit(() -> call.call(ingredientService));
+    }
+
+    public <T> CompletableFuture<T> production(ServiceCall<ProductionService, T> call) {
+        return submit(() -> call.call(productionService));
+    }
+
+    public <T> CompletableFuture<T> invoices(ServiceCall<InvoiceService, T> call) {
+        return submit(() -> call.call(invoiceService));
+    }
+
+    // Pentru lucrul care combină mai multe servicii (ex. rapoartele)
+    public <T> CompletableFuture<T> submit(Work<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        taskStarted();
+        Future<?> task = executor.submit(() -> {
+            try {
+                T value = work.call();
+                Platform.runLater(() -> result.complete(value));
+            } catch (Throwable e) {
+                Platform.runLater(() -> result.completeExceptionally(e));
+            } finally {
+                Platform.runLater(this::taskFinished);
+            }
+        });
+        // Anularea din interfață oprește și firul de lucru
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public ReadOnlyIntegerProperty runningTasksProperty() {
+        return runningTasks.getReadOnlyProperty();
+    }
+
+    public BooleanBinding busyBinding() {
+        return busy;
+    }
+
+    private void taskStarted() {
+        if (Platform.isFxApplicationThread()) {
+            runningTasks.set(runningTasks.get() + 1);
+        } else {
+            Platform.runLater(() -> runningTasks.set(runningTasks.get() + 1));
+        }
+    }
+
+    private void taskFinished() {
+        runningTasks.set(runningTasks.get() - 1);
+    }
+
+    // Excepția reală, fără învelișurile CompletionException/ExecutionException
+    public static String errorMessage(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,69 @@
+package com.bakerymanager.service;
+
+import com.bakerymanager.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@Lazy
+public class CacheStatisticsService {
+    
+    private final SessionFactory sessionFactory;
+    
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+    
+    public List<CacheRegionStats> getRegionStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStats> result = new ArrayList<>();
+        
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            // Regiunile query cache sunt raportate separat, mai jos
+            if (regionName.equals(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)
+                    || regionName.equals(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)) {
+                continue;
+            }
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(regionName);
+            if (region != null) {
+                result.add(new CacheRegionStats(regionName, region.getHitCount(), region.getMissCount(),
+                    region.getPutCount(), region.getElementCountInMemory()));
+            }
+        }
+        
+        result.add(new CacheRegionStats("Interogări (query cache)", statistics.getQueryCacheHitCount(),
+            statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(), -1));
+        return result;
+    }
+    
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        for (CacheRegionStats stats : getRegionStatistics()) {
+            String name = stats.getRegionName().substring(stats.getRegionName().lastIndexOf('.') + 1);
+            summary.append(String.format("%s: %d hit / %d miss (%.0f%%), %d put",
+                name, stats.getHitCount(), stats.getMissCount(), stats.getHitRatio() * 100, stats.getPutCount()));
+            if (stats.getElementCount() >= 0) {
+                summary.append(", ").append(stats.getElementCount()).append(" în memorie");
+            }
+            summary.append("\n");
+        }
+        return summary.toString();
+    }
+    
+    public void clearCatalogCache() {
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+        System.out.println("Cache-ul catalogului a fost golit");
+    }
+}
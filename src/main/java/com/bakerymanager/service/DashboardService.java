@@ -0,0 +1,43 @@
+package com.bakerymanager.service;
+
+import com.bakerymanager.dto.DashboardStats;
+import com.bakerymanager.repository.IngredientRepository;
+import com.bakerymanager.repository.ProductRepository;
+import com.bakerymanager.repository.SaleRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Service
+@Transactional(readOnly = true)
+public class DashboardService {
+    
+    private final ProductRepository productRepository;
+    private final IngredientRepository ingredientRepository;
+    private final SaleRepository saleRepository;
+    
+    public DashboardService(ProductRepository productRepository,
+                            IngredientRepository ingredientRepository,
+                            SaleRepository saleRepository) {
+        this.productRepository = productRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.saleRepository = saleRepository;
+    }
+    
+    public DashboardStats getStatistics() {
+        LocalDate today = LocalDate.now();
+        BigDecimal todayTotal = saleRepository.getTotalSalesByDay(today);
+        Long todayCount = saleRepository.getSalesCountByDay(today);
+        
+        return new DashboardStats(
+            productRepository.countAvailableProducts(),
+            ingredientRepository.countAvailableIngredients(),
+            ingredientRepository.countLowStockIngredients(),
+            productRepository.countLowStockProducts(),
+            todayCount != null ? todayCount : 0,
+            todayTotal != null ? todayTotal : BigDecimal.ZERO
+        );
+    }
+}
@@ -0,0 +1,146 @@
+package com.bakerymanager.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Backup-ul bazei de date cu VACUUM INTO: o copie consistentă, compactată, făcută pe o conexiune
+ * de citire, fără să blocheze vânzările. Programarea folosește setările din ecranul Setări
+ * (backup automat, frecvență, locație); verificarea rulează periodic pe firul de fundal al UiScheduler.
+ */
+@Service
+public class DatabaseBackupService {
+
+    // Fișierul scris de ecranul Setări
+    private static final String SETTINGS_FILE = "config.properties";
+    private static final String FILE_PREFIX = "bakery_backup_";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final DataSource dataSource;
+    private final UiScheduler uiScheduler;
+    private final int keep;
+    private final long checkMinutes;
+
+    public DatabaseBackupService(Map<String, DataSource> dataSources,
+                                 UiScheduler uiScheduler,
+                                 @Value("${bakery.backup.keep:14}") int keep,
+                                 @Value("${bakery.backup.check-minutes:15}") long checkMinutes) {
+        // În modul WAL copia se face de pe pool-ul de citire
+        this.dataSource = dataSources.containsKey("readerDataSource") ? dataSources.get("readerDataSource") : dataSources.get("dataSource");
+        this.uiScheduler = uiScheduler;
+        this.keep = keep;
+        this.checkMinutes = checkMinutes;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (checkMinutes > 0) {
+            uiScheduler.scheduleBackground("backup", 60, checkMinutes * 60, this::backupIfDue);
+        }
+    }
+
+    // Backup-ul programat: doar dacă e activat și ultimul backup e mai vechi decât frecvența aleasă
+    public void backupIfDue() {
+        Properties settings = loadSettings();
+        if (!Boolean.parseBoolean(settings.getProperty("auto.backup", "true"))) {
+            return;
+        }
+        Path directory = Path.of(settings.getProperty("backup.location", defaultLocation()));
+        Duration frequency = switch (settings.getProperty("backup.frequency", "Zilnic")) {
+            case "Săptămânal" -> Duration.ofDays(7);
+            case "Lunar" -> Duration.ofDays(30);
+            default -> Duration.ofDays(1);
+        };
+        try {
+            Instant last = lastBackupTime(directory);
+            if (last == null || last.plus(frequency).isBefore(Instant.now())) {
+                backupTo(directory);
+            }
+        } catch (IOException | SQLException e) {
+            System.err.println("Error creating scheduled backup: " + e.getMessage());
+        }
+    }
+
+    public Path backupTo(Path directory) throws IOException, SQLException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(FILE_PREFIX + LocalDateTime.now().format(FILE_TIMESTAMP) + ".db");
+
+        long start = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("VACUUM INTO ?")) {
+            statement.setString(1, target.toAbsolutePath().toString());
+            statement.execute();
+        }
+        System.out.println("Backup creat: " + target + " (" + Files.size(target) / 1024 + " KB, "
+            + (System.currentTimeMillis() - start) + " ms)");
+
+        pruneOldBackups(directory);
+        return target;
+    }
+
+    public static String defaultLocation() {
+        return System.getProperty("user.home") + File.separator + "bakery_backups";
+    }
+
+    private Instant lastBackupTime(Path directory) throws IOException {
+        List<Path> backups = listBackups(directory);
+        return backups.isEmpty() ? null : Files.getLastModifiedTime(backups.get(backups.size() - 1)).toInstant();
+    }
+
+    // Se păstrează doar ultimele `keep` copii
+    private void pruneOldBackups(Path directory) throws IOException {
+        List<Path> backups = listBackups(directory);
+        for (int i = 0; i < backups.size() - keep; i++) {
+            Files.deleteIfExists(backups.get(i));
+        }
+    }
+
+    // Numele conțin data, deci ordinea alfabetică e cea cronologică
+    private List<Path> listBackups(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(FILE_PREFIX) && name.endsWith(".db");
+                })
+                .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                .toList();
+        }
+    }
+
+    private Properties loadSettings() {
+        Properties settings = new Properties();
+        Path file = Path.of(SETTINGS_FILE);
+        if (Files.exists(file)) {
+            try (InputStream input = Files.newInputStream(file)) {
+                settings.load(input);
+            } catch (IOException e) {
+                System.err.println("Error loading backup settings: " + e.getMessage());
+            }
+        }
+        return settings;
+    }
+}
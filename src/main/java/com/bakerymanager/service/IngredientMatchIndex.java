@@ -0,0 +1,294 @@
+package com.bakerymanager.service;
+
+import com.bakerymanager.dto.IngredientMatch;
+import com.bakerymanager.entity.Ingredient;
+import com.bakerymanager.repository.IngredientRepository;
+import com.bakerymanager.utils.TextNormalizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Index în memorie peste numele ingredientelor, pentru maparea liniilor de factură fără interogări SQL.
+ * Numele sunt normalizate (fără diacritice, litere mici), iar scorul combină trigramele comune (Dice)
+ * cu cuvintele comune. Numerele și unitățile (tip, gramaj, ambalaj) nu intră în scor: contează doar
+ * când se contrazic ("000" vs "650"), nu când furnizorul adaugă ambalajul ("50 kg").
+ * Se încarcă la prima folosire și e ținut la zi de IngredientService.
+ * Căutările citesc un instantaneu imutabil, fără lock; modificările construiesc un instantaneu nou
+ * și îl publică dintr-o dată, deci o căutare concurentă nu vede niciodată un index gol sau pe jumătate.
+ */
+@Component
+public class IngredientMatchIndex {
+
+    private static final double TRIGRAM_WEIGHT = 0.7;
+    private static final double TOKEN_WEIGHT = 0.3;
+    private static final double NUMBER_MISMATCH_PENALTY = 0.5;
+    // Același produs, dar numerele nu coincid întocmai (ex. ambalaj adăugat): sub potrivirea exactă
+    private static final double EXTRA_NUMBER_FACTOR = 0.95;
+
+    // Unități scrise separat de cantitate ("50 kg", "6 x 1 l"); tratate ca numerele
+    private static final Set<String> UNIT_TOKENS = Set.of("kg", "g", "gr", "l", "ml", "buc", "x");
+
+    // Cuvintele dau scorul; numerele (cu unitățile) doar îl penalizează când se contrazic
+    private record Terms(Set<String> words, Set<String> numbers, Set<String> trigrams) {
+
+        static Terms of(String folded) {
+            Set<String> words = new HashSet<>();
+            Set<String> numbers = new HashSet<>();
+            for (String token : TextNormalizer.tokens(folded)) {
+                if (Character.isDigit(token.charAt(0)) || UNIT_TOKENS.contains(token)) {
+                    numbers.add(token);
+                } else {
+                    words.add(token);
+                }
+            }
+            if (words.isEmpty()) {
+                // Nume doar din numere: se compară ca atare
+                words = numbers;
+                numbers = Set.of();
+            }
+            return new Terms(words, numbers, TextNormalizer.trigrams(String.join(" ", words)));
+        }
+    }
+
+    private record Entry(Long id, String name, String folded, Terms terms) {}
+
+    // Nu se modifică după publicare; put/remove lucrează pe copii
+    private record Snapshot(Map<Long, Entry> entries, Map<String, Set<Long>> idsByTrigram, Map<String, Long> idsByFoldedName) {
+
+        // Încărcarea completă: mulțimile se construiesc direct, fără copii
+        static Snapshot build(List<Ingredient> ingredients) {
+            Snapshot built = new Snapshot(new HashMap<>(), new HashMap<>(), new HashMap<>());
+            for (Ingredient ingredient : ingredients) {
+                Entry entry = entry(ingredient.getId(), ingredient.getName());
+                built.entries.put(entry.id(), entry);
+                built.idsByFoldedName.putIfAbsent(entry.folded(), entry.id());
+                for (String trigram : entry.terms().trigrams()) {
+                    built.idsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(entry.id());
+                }
+            }
+            return built;
+        }
+
+        static Entry entry(Long id, String name) {
+            String folded = TextNormalizer.fold(name);
+            return new Entry(id, name, folded, Terms.of(folded));
+        }
+
+        Snapshot copy() {
+            return new Snapshot(new HashMap<>(entries), new HashMap<>(idsByTrigram), new HashMap<>(idsByFoldedName));
+        }
+
+        // Doar pe o copie încă nepublicată; mulțimile de id-uri atinse se copiază, restul rămân partajate
+        void add(Long id, String name) {
+            Entry entry = entry(id, name);
+            entries.put(id, entry);
+            idsByFoldedName.putIfAbsent(entry.folded(), id);
+            for (String trigram : entry.terms().trigrams()) {
+                Set<Long> ids = new HashSet<>(idsByTrigram.getOrDefault(trigram, Set.of()));
+                ids.add(id);
+                idsByTrigram.put(trigram, ids);
+            }
+        }
+
+        void remove(Long id) {
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return;
+            }
+            idsByFoldedName.remove(previous.folded(), previous.id());
+            for (String trigram : previous.terms().trigrams()) {
+                Set<Long> ids = idsByTrigram.get(trigram);
+                if (ids != null) {
+                    Set<Long> remaining = new HashSet<>(ids);
+                    remaining.remove(id);
+                    idsByTrigram.put(trigram, remaining);
+                }
+            }
+        }
+    }
+
+    private final IngredientRepository ingredientRepository;
+
+    // null: încă neîncărcat; se construiește din baza de date la prima căutare
+    private volatile Snapshot snapshot;
+
+    public IngredientMatchIndex(IngredientRepository ingredientRepository) {
+        this.ingredientRepository = ingredientRepository;
+    }
+
+    // Cel mai bun candidat cu scor cel puțin minScore
+    public Optional<IngredientMatch> bestMatch(String name, double minScore) {
+        List<IngredientMatch> matches = findMatches(name, 1, minScore);
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+    }
+
+    // Candidații cu scor cel puțin minScore, în ordinea scorului
+    public List<IngredientMatch> findMatches(String name, int limit, double minScore) {
+        Snapshot index = ensureLoaded();
+        String folded = TextNormalizer.fold(name);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+
+        Long exactId = index.idsByFoldedName().get(folded);
+        Terms query = Terms.of(folded);
+
+        // Numărul de trigrame comune, doar pentru ingredientele care au cel puțin una
+        Map<Long, Integer> sharedTrigrams = new HashMap<>();
+        for (String trigram : query.trigrams()) {
+            Set<Long> ids = index.idsByTrigram().get(trigram);
+            if (ids != null) {
+                for (Long id : ids) {
+                    sharedTrigrams.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<IngredientMatch> matches = new ArrayList<>();
+        for (Map.Entry<Long, Integer> candidate : sharedTrigrams.entrySet()) {
+            Entry entry = index.entries().get(candidate.getKey());
+            if (entry == null) {
+                continue;
+            }
+            double score = entry.id().equals(exactId) ? 1.0 : score(query, entry, candidate.getValue());
+            if (score >= minScore) {
+                matches.add(new IngredientMatch(entry.id(), entry.name(), score));
+            }
+        }
+
+        matches.sort(Comparator.comparingDouble(IngredientMatch::getScore).reversed()
+            .thenComparing(IngredientMatch::getName));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    // Căutarea din inventar: numele care conțin textul (întâi cele care încep cu el) apar mereu, înaintea
+    // candidaților aproximativi, ca un cuvânt tastat pe jumătate ("fain") să găsească ingredientul
+    public List<IngredientMatch> search(String text, int limit, double minScore) {
+        Snapshot index = ensureLoaded();
+        String folded = TextNormalizer.fold(text);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+
+        Terms query = Terms.of(folded);
+        List<IngredientMatch> prefixHits = new ArrayList<>();
+        List<IngredientMatch> containsHits = new ArrayList<>();
+        for (Entry entry : index.entries().values()) {
+            int position = entry.folded().indexOf(folded);
+            if (position < 0) {
+                continue;
+            }
+            double score = entry.folded().equals(folded) ? 1.0 : score(query, entry, sharedTrigrams(query, entry));
+            (position == 0 ? prefixHits : containsHits).add(new IngredientMatch(entry.id(), entry.name(), score));
+        }
+        Comparator<IngredientMatch> byName = Comparator.comparing(IngredientMatch::getName);
+        prefixHits.sort(byName);
+        containsHits.sort(byName);
+
+        Map<Long, IngredientMatch> ranked = new LinkedHashMap<>();
+        for (IngredientMatch match : prefixHits) {
+            ranked.put(match.getIngredientId(), match);
+        }
+        for (IngredientMatch match : containsHits) {
+            ranked.put(match.getIngredientId(), match);
+        }
+        for (IngredientMatch match : findMatches(text, limit, minScore)) {
+            if (ranked.size() >= limit) {
+                break;
+            }
+            ranked.putIfAbsent(match.getIngredientId(), match);
+        }
+        List<IngredientMatch> matches = new ArrayList<>(ranked.values());
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    public synchronized void put(Long ingredientId, String name) {
+        Snapshot current = snapshot;
+        if (current == null || ingredientId == null) {
+            return; // se va încărca complet la prima folosire
+        }
+        Snapshot next = current.copy();
+        next.remove(ingredientId);
+        next.add(ingredientId, name);
+        snapshot = next;
+    }
+
+    public synchronized void remove(Long ingredientId) {
+        Snapshot current = snapshot;
+        if (current == null || !current.entries().containsKey(ingredientId)) {
+            return;
+        }
+        Snapshot next = current.copy();
+        next.remove(ingredientId);
+        snapshot = next;
+    }
+
+    private Snapshot ensureLoaded() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            long start = System.currentTimeMillis();
+            Snapshot loaded = Snapshot.build(ingredientRepository.findAll());
+            snapshot = loaded;
+            System.out.println("Index ingrediente încărcat: " + loaded.entries().size() + " nume în "
+                + (System.currentTimeMillis() - start) + " ms");
+            return loaded;
+        }
+    }
+
+    private static double score(Terms query, Entry entry, int sharedTrigrams) {
+        Terms terms = entry.terms();
+        int trigramCount = query.trigrams().size() + terms.trigrams().size();
+        double dice = trigramCount == 0 ? 0 : 2.0 * sharedTrigrams / trigramCount;
+        double score = TRIGRAM_WEIGHT * dice + TOKEN_WEIGHT * tokenCoverage(query.words(), terms.words());
+        if (numbersConflict(query.numbers(), terms.numbers())) {
+            score *= NUMBER_MISMATCH_PENALTY; // "Făină 000" și "Făină 650" sunt produse diferite
+        } else if (!query.numbers().equals(terms.numbers())) {
+            score *= EXTRA_NUMBER_FACTOR;
+        }
+        return score;
+    }
+
+    private static int sharedTrigrams(Terms query, Entry entry) {
+        int shared = 0;
+        for (String trigram : query.trigrams()) {
+            if (entry.terms().trigrams().contains(trigram)) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    // Cât din cuvintele căutate apar în nume: "zahar" acoperă complet "Zahăr tos"
+    private static double tokenCoverage(Set<String> queryTokens, Set<String> entryTokens) {
+        if (queryTokens.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String token : queryTokens) {
+            if (entryTokens.contains(token)) {
+                shared++;
+            }
+        }
+        return (double) shared / queryTokens.size();
+    }
+
+    // Doar când niciun nume nu conține toate numerele celuilalt: "000" vs "650" da, "000 50kg" vs "000" nu
+    private static boolean numbersConflict(Set<String> queryNumbers, Set<String> entryNumbers) {
+        return !queryNumbers.containsAll(entryNumbers) && !entryNumbers.containsAll(queryNumbers);
+    }
+}
@@ -1,12 +1,19 @@
 package com.bakerymanager.service;
 
+import com.bakerymanager.dto.IngredientMatch;
 import com.bakerymanager.entity.Ingredient;
 import com.bakerymanager.repository.IngredientRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,34 +21,68 @@ import java.util.Optional;
 public class IngredientService {
     
     private final IngredientRepository ingredientRepository;
+    private final IngredientMatchIndex ingredientMatchIndex;
+    private final SupplierItemMappingService supplierItemMappingService;
+    private final double matchThreshold;
     
-    public IngredientService(IngredientRepository ingredientRepository) {
+    // Scorul minim pentru căutarea din inventar (mai permisiv decât maparea automată)
+    private static final double SEARCH_MIN_SCORE = 0.35;
+    
+    public IngredientService(IngredientRepository ingredientRepository,
+                             IngredientMatchIndex ingredientMatchIndex,
+                             SupplierItemMappingService supplierItemMappingService,
+                             @Value("${bakery.ingredients.match-threshold:0.75}") double matchThreshold) {
         this.ingredientRepository = ingredientRepository;
+        this.ingredientMatchIndex = ingredientMatchIndex;
+        this.supplierItemMappingService = supplierItemMappingService;
+        this.matchThreshold = matchThreshold;
     }
     
+    @Transactional(readOnly = true)
     public List<Ingredient> getAllIngredients() {
         return ingredientRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Ingredient> getIngredientById(Long id) {
         return ingredientRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Ingredient> getIngredientByName(String name) {
         return ingredientRepository.findByName(name);
     }
     
+    @Transactional(readOnly = true)
     public List<Ingredient> findByName(String name) {
         Optional<Ingredient> ingredient = ingredientRepository.findByName(name);
         return ingredient.map(List::of).orElse(List.of());
     }
     
+    @Transactional(readOnly = true)
     public List<Ingredient> findByNameContainingIgnoreCase(String name) {
         return ingredientRepository.findByNameContainingIgnoreCase(name);
     }
     
+    // Candidați ordonați după similaritate, din indexul în memorie (fără diacritice, pe cuvinte și trigrame)
+    public List<IngredientMatch> suggestIngredients(String name, int limit) {
+        return ingredientMatchIndex.findMatches(name, limit, SEARCH_MIN_SCORE);
+    }
+    
+    // Candidatul cel mai apropiat peste pragul bakery.ingredients.match-threshold
+    public Optional<IngredientMatch> findBestMatch(String name) {
+        return ingredientMatchIndex.bestMatch(name, matchThreshold);
+    }
+    
+    // Referință fără SELECT, pentru legarea liniilor de factură de un ingredient găsit în index
+    public Ingredient getIngredientReference(Long id) {
+        return ingredientRepository.getReferenceById(id);
+    }
+    
     public Ingredient saveIngredient(Ingredient ingredient) {
-        return ingredientRepository.save(ingredient);
+        Ingredient saved = ingredientRepository.save(ingredient);
+        indexAfterWrite(saved);
+        return saved;
     }
     
     public Ingredient createIngredient(String name, Ingredient.UnitOfMeasure unitOfMeasure, 
@@ -52,21 +93,40 @@ public class IngredientService {
         ingredient.setCurrentStock(currentStock != null ? currentStock : BigDecimal.ZERO);
         ingredient.setLastPurchasePrice(lastPurchasePrice);
         ingredient.setMinimumStock(BigDecimal.ZERO);
-        return ingredientRepository.save(ingredient);
+        Ingredient saved = ingredientRepository.save(ingredient);
+        indexAfterWrite(saved);
+        return saved;
     }
     
     public void deleteIngredient(Long id) {
+        supplierItemMappingService.forgetIngredient(id);
         ingredientRepository.deleteById(id);
+        afterCommit(() -> ingredientMatchIndex.remove(id));
     }
     
+    @Transactional(readOnly = true)
     public List<Ingredient> searchIngredients(String searchTerm) {
-        return ingredientRepository.findByNameContainingIgnoreCase(searchTerm);
+        List<IngredientMatch> matches = ingredientMatchIndex.search(searchTerm, 100, SEARCH_MIN_SCORE);
+        Map<Long, Ingredient> byId = new HashMap<>();
+        for (Ingredient ingredient : ingredientRepository.findAllById(matches.stream().map(IngredientMatch::getIngredientId).toList())) {
+            byId.put(ingredient.getId(), ingredient);
+        }
+        List<Ingredient> ranked = new ArrayList<>(matches.size());
+        for (IngredientMatch match : matches) {
+            Ingredient ingredient = byId.get(match.getIngredientId());
+            if (ingredient != null) {
+                ranked.add(ingredient);
+            }
+        }
+        return ranked;
     }
     
+    @Transactional(readOnly = true)
     public List<Ingredient> getLowStockIngredients() {
         return ingredientRepository.findLowStockIngredients();
     }
     
+    @Transactional(readOnly = true)
     public List<Ingredient> getAvailableIngredients() {
         return ingredientRepository.findAvailableIngredients();
     }
@@ -90,6 +150,7 @@ public class IngredientService {
         ingredientRepository.save(ingredient);
     }
     
+    @Transactional(readOnly = true)
     public boolean hasSufficientStock(Long ingredientId, BigDecimal requiredQuantity) {
         Ingredient ingredient = ingredientRepository.findById(ingredientId)
             .orElseThrow(() -> new RuntimeException("Ingredient not found: " + ingredientId));
@@ -102,4 +163,25 @@ public class IngredientService {
         ingredient.setLastPurchasePrice(newPrice);
         ingredientRepository.save(ingredient);
     }
+    
+    // Indexul e comun tuturor firelor, deci vede ingredientul doar după commit; liniile următoare din
+    // același import îl găsesc în cache-ul de nume al importului
+    private void indexAfterWrite(Ingredient ingredient) {
+        Long id = ingredient.getId();
+        String name = ingredient.getName();
+        afterCommit(() -> ingredientMatchIndex.put(id, name));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,244 @@
+package com.bakerymanager.service;
+
+import com.bakerymanager.dto.InvoiceImportResult;
+import com.bakerymanager.dto.UBLInvoiceEvents;
+import com.bakerymanager.utils.FileHashes;
+import com.bakerymanager.utils.SpvArchive;
+import com.bakerymanager.utils.UBLInvoiceReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Import în masă al unui folder de e-Facturi (XML sau arhive ZIP din SPV): fișierele se parsează
+ * în paralel pe toate nucleele, iar rezultatele ajung la un singur scriitor care le salvează în loturi
+ * prin InvoiceService (SQLite acceptă oricum un singur scriitor). Coada dintre ei e limitată, ca
+ * parserele să nu ruleze cu mult înaintea scrierii. Fișierele al căror SHA-256 e deja în baza de date
+ * sunt sărite înainte de parsare.
+ */
+@Service
+@Lazy
+public class InvoiceBulkImportService {
+
+    // Apelat pe firul scriitorului după fiecare fișier procesat
+    public interface ProgressListener {
+        void fileDone(InvoiceImportResult result, int completed, int total);
+    }
+
+    private final InvoiceService invoiceService;
+    private final int parserThreads;
+    private final int batchSize;
+
+    public InvoiceBulkImportService(InvoiceService invoiceService,
+                                    @Value("${bakery.invoices.bulk-import.threads:0}") int parserThreads,
+                                    @Value("${bakery.invoices.bulk-import.batch-size:25}") int batchSize) {
+        this.invoiceService = invoiceService;
+        this.parserThreads = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    private record ParsedFile(Path file, UBLInvoiceEvents.Document document, String error) {}
+
+    public List<InvoiceImportResult> importFolder(Path folder, ProgressListener listener) throws IOException {
+        List<Path> files = listInvoiceFiles(folder);
+        List<InvoiceImportResult> results = new ArrayList<>(files.size());
+        if (files.isEmpty()) {
+            return results;
+        }
+
+        long start = System.currentTimeMillis();
+        BlockingQueue<ParsedFile> parsed = new ArrayBlockingQueue<>(batchSize * 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService parsers = Executors.newFixedThreadPool(Math.min(parserThreads, files.size()), runnable -> {
+            Thread thread = new Thread(runnable, "ubl-parser-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            // Întâi hash-ul fiecărui fișier, în paralel; fișierele deja importate nu se mai parsează deloc
+            List<Path> toParse = new ArrayList<>(files.size());
+            Map<Path, String> hashes = hashAll(files, parsers, results, listener);
+            Map<String, String> imported = invoiceService.findImportedSourceHashes(hashes.values());
+            Set<String> seenHashes = new HashSet<>();
+            for (Path file : files) {
+                String hash = hashes.get(file);
+                if (hash == null) {
+                    continue; // eșec deja raportat
+                }
+                String fileName = file.getFileName().toString();
+                if (imported.containsKey(hash)) {
+                    report(InvoiceImportResult.duplicate(fileName, imported.get(hash)), results, files.size(), listener);
+                } else if (!seenHashes.add(hash)) {
+                    report(InvoiceImportResult.duplicate(fileName, null), results, files.size(), listener);
+                } else {
+                    toParse.add(file);
+                }
+            }
+
+            for (Path file : toParse) {
+                String hash = hashes.get(file);
+                parsers.execute(() -> {
+                    ParsedFile result = new ParsedFile(file, null, "Fișierul nu a putut fi citit (memorie insuficientă)");
+                    try {
+                        result = parse(file, hash);
+                    } finally {
+                        // Scriitorul așteaptă câte un rezultat pentru fiecare fișier, chiar dacă parsarea a aruncat un Error
+                        try {
+                            parsed.put(result);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }
+
+            // Scriitorul: ia ce e gata din coadă, până la un lot, și salvează într-o singură tranzacție
+            List<ParsedFile> batch = new ArrayList<>(batchSize);
+            while (results.size() < files.size()) {
+                batch.add(parsed.take());
+                parsed.drainTo(batch, batchSize - batch.size());
+                writeBatch(batch, results, files.size(), listener);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Importul a fost întrerupt", e);
+        } finally {
+            parsers.shutdownNow();
+        }
+
+        System.out.println("Import în masă: " + files.size() + " fișiere din " + folder + " în "
+            + (System.currentTimeMillis() - start) + " ms");
+        return results;
+    }
+
+    private Map<Path, String> hashAll(List<Path> files, ExecutorService pool, List<InvoiceImportResult> results,
+                                      ProgressListener listener) throws InterruptedException {
+        List<Callable<String>> tasks = new ArrayList<>(files.size());
+        for (Path file : files) {
+            tasks.add(() -> FileHashes.sha256(file));
+        }
+        List<Future<String>> futures = pool.invokeAll(tasks);
+
+        Map<Path, String> hashes = new HashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                hashes.put(files.get(i), futures.get(i).get());
+            } catch (ExecutionException e) {
+                report(InvoiceImportResult.failed(files.get(i).getFileName().toString(), e.getCause().getMessage()),
+                    results, files.size(), listener);
+            }
+        }
+        return hashes;
+    }
+
+    private List<Path> listInvoiceFiles(Path folder) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            throw new IOException("Folderul nu există: " + folder);
+        }
+        try (Stream<Path> entries = Files.list(folder)) {
+            return entries
+                .filter(Files::isRegularFile)
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.toLowerCase(Locale.ROOT).endsWith(".xml") || SpvArchive.isArchive(name);
+                })
+                .sorted()
+                .toList();
+        }
+    }
+
+    // Rulează pe firele de parsare; nu atinge baza de date
+    private ParsedFile parse(Path file, String sourceSha256) {
+        try {
+            UBLInvoiceEvents.Document document;
+            if (SpvArchive.isArchive(file.getFileName().toString())) {
+                // Arhiva se citește o singură dată: octeții se păstrează pentru audit, factura se parsează din memorie
+                byte[] archive = Files.readAllBytes(file);
+                try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+                    document = new UBLInvoiceReader().readAll(SpvArchive.openInvoiceEntry(zip));
+                }
+                document.setArchiveContent(archive);
+            } else {
+                try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+                    document = new UBLInvoiceReader().readAll(input);
+                }
+            }
+            document.setSourceFileName(file.getFileName().toString());
+            document.setSourcePath(file.toAbsolutePath().toString());
+            document.setSourceSha256(sourceSha256);
+            return new ParsedFile(file, document, null);
+        } catch (StackOverflowError e) {
+            return new ParsedFile(file, null, "Structura XML este prea adâncă");
+        } catch (Exception e) {
+            return new ParsedFile(file, null, e.getMessage());
+        }
+    }
+
+    private void writeBatch(List<ParsedFile> batch, List<InvoiceImportResult> results, int total, ProgressListener listener) {
+        List<UBLInvoiceEvents.Document> documents = new ArrayList<>(batch.size());
+        for (ParsedFile parsedFile : batch) {
+            if (parsedFile.document() == null) {
+                report(InvoiceImportResult.failed(parsedFile.file().getFileName().toString(), parsedFile.error()), results, total, listener);
+            } else {
+                documents.add(parsedFile.document());
+            }
+        }
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        List<InvoiceImportResult> written;
+        try {
+            written = invoiceService.importParsedUBLInvoices(documents);
+        } catch (RuntimeException e) {
+            // O factură invalidă anulează lotul; se reia fiecare separat ca să fie izolată
+            written = new ArrayList<>(documents.size());
+            for (UBLInvoiceEvents.Document document : documents) {
+                try {
+                    written.addAll(invoiceService.importParsedUBLInvoices(List.of(document)));
+                } catch (RuntimeException rejected) {
+                    written.add(InvoiceImportResult.failed(document.getSourceFileName(), rejected.getMessage()));
+                }
+            }
+        }
+        for (InvoiceImportResult result : written) {
+            report(result, results, total, listener);
+        }
+    }
+
+    private void report(InvoiceImportResult result, List<InvoiceImportResult> results, int total, ProgressListener listener) {
+        results.add(result);
+        if (result.getStatus() == InvoiceImportResult.Status.FAILED) {
+            System.err.println("Import eșuat: " + result.getFileName() + " - " + result.getMessage());
+        }
+        if (listener != null) {
+            listener.fileDone(result, results.size(), total);
+        }
+    }
+}
@@ -1,21 +1,50 @@
 package com.bakerymanager.service;
 
+import com.bakerymanager.dto.IngredientMatch;
+import com.bakerymanager.dto.InvoiceImportResult;
+import com.bakerymanager.dto.MappedItem;
+import com.bakerymanager.dto.UBLInvoiceEvents;
 import com.bakerymanager.entity.Invoice;
 import com.bakerymanager.entity.InvoiceLine;
+import com.bakerymanager.entity.InvoiceArchive;
+import com.bakerymanager.entity.InvoiceVatBreakdown;
 import com.bakerymanager.entity.Ingredient;
+import com.bakerymanager.entity.StockMovement;
+import com.bakerymanager.repository.IngredientRepository;
+import com.bakerymanager.repository.InvoiceArchiveRepository;
 import com.bakerymanager.repository.InvoiceRepository;
 import com.bakerymanager.repository.InvoiceLineRepository;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.bakerymanager.repository.InvoiceVatBreakdownRepository;
+import com.bakerymanager.repository.StockMovementRepository;
+import com.bakerymanager.utils.FileHashes;
+import com.bakerymanager.utils.SpvArchive;
+import com.bakerymanager.utils.UBLInvoiceReader;
+import com.bakerymanager.utils.UnitCodes;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.zip.ZipInputStream;
 
 @Service
 @Transactional
@@ -23,95 +52,343 @@ public class InvoiceService {
     
     private final InvoiceRepository invoiceRepository;
     private final InvoiceLineRepository invoiceLineRepository;
+    private final InvoiceVatBreakdownRepository invoiceVatBreakdownRepository;
+    private final InvoiceArchiveRepository invoiceArchiveRepository;
+    private final IngredientRepository ingredientRepository;
+    private final StockMovementRepository stockMovementRepository;
     private final IngredientService ingredientService;
-    private final XmlMapper xmlMapper;
+    private final NumberSequenceService numberSequenceService;
+    private final SupplierItemMappingService supplierItemMappingService;
+    private final UBLInvoiceReader ublInvoiceReader = new UBLInvoiceReader();
+    
+    // Liniile importate se trimit la baza de date și se eliberează din memorie în loturi de această mărime
+    private static final int LINE_BATCH_SIZE = 200;
+    private static final int HASH_QUERY_CHUNK = 500;
+    
+    public static final String STATUS_IMPORTED = "Importată";
+    public static final String STATUS_RECEIVED = "Recepționată";
     
     public InvoiceService(InvoiceRepository invoiceRepository, 
                          InvoiceLineRepository invoiceLineRepository,
-                         IngredientService ingredientService) {
+                         InvoiceVatBreakdownRepository invoiceVatBreakdownRepository,
+                         InvoiceArchiveRepository invoiceArchiveRepository,
+                         IngredientRepository ingredientRepository,
+                         StockMovementRepository stockMovementRepository,
+                         IngredientService ingredientService,
+                         NumberSequenceService numberSequenceService,
+                         SupplierItemMappingService supplierItemMappingService) {
         this.invoiceRepository = invoiceRepository;
         this.invoiceLineRepository = invoiceLineRepository;
+        this.invoiceVatBreakdownRepository = invoiceVatBreakdownRepository;
+        this.invoiceArchiveRepository = invoiceArchiveRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.stockMovementRepository = stockMovementRepository;
         this.ingredientService = ingredientService;
-        this.xmlMapper = new XmlMapper();
+        this.numberSequenceService = numberSequenceService;
+        this.supplierItemMappingService = supplierItemMappingService;
     }
     
+    @Transactional(readOnly = true)
     public List<Invoice> getAllInvoices() {
         return invoiceRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Invoice> getInvoiceById(Long id) {
         return invoiceRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Invoice> getInvoiceByNumber(String invoiceNumber) {
         return invoiceRepository.findByInvoiceNumber(invoiceNumber);
     }
     
     @Transactional
     public Invoice importUBLInvoice(String filePath) throws IOException {
+        File xmlFile = new File(filePath);
+        if (!xmlFile.exists()) {
+            throw new IOException("Fișierul nu există: " + filePath);
+        }
+        
+        UBLImportHandler handler = new UBLImportHandler(xmlFile.getName(), xmlFile.getAbsolutePath(), new HashMap<>());
         try {
-            // Citire fișier XML (simulare - în realitate ar fi parsare UBL)
-            File xmlFile = new File(filePath);
-            if (!xmlFile.exists()) {
-                throw new IOException("Fișierul nu există: " + filePath);
+            byte[] archive = SpvArchive.isArchive(xmlFile.getName()) ? Files.readAllBytes(xmlFile.toPath()) : null;
+            
+            // Reimportul aceluiași fișier se oprește înainte de parsare
+            String sourceSha256 = archive != null ? FileHashes.sha256(archive) : FileHashes.sha256(xmlFile.toPath());
+            Optional<Invoice> alreadyImported = invoiceRepository.findBySourceSha256(sourceSha256);
+            if (alreadyImported.isPresent()) {
+                throw new IllegalArgumentException("Fișierul " + xmlFile.getName() + " a fost deja importat ca factura "
+                    + alreadyImported.get().getInvoiceNumber());
+            }
+            handler.getInvoice().setSourceSha256(sourceSha256);
+            
+            if (archive != null) {
+                // Arhiva SPV: factura se citește direct din ZIP, iar arhiva se păstrează pentru audit
+                handler.attachArchive(archive);
+                try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+                    ublInvoiceReader.read(SpvArchive.openInvoiceEntry(zip), handler);
+                }
+            } else {
+                try (InputStream input = new BufferedInputStream(new FileInputStream(xmlFile))) {
+                    ublInvoiceReader.read(input, handler);
+                }
+            }
+            Invoice savedInvoice = handler.getInvoice();
+            
+            System.out.println("Factură SPV importată cu succes: " + savedInvoice.getInvoiceNumber()
+                + " (" + savedInvoice.getNumberOfLines() + " linii)");
+            return savedInvoice;
+        } catch (IOException e) {
+            System.err.println("Eroare la importul facturii SPV: " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    // Hash-urile deja importate, cu numărul facturii; interogat pe bucăți din cauza limitei de parametri SQLite
+    @Transactional(readOnly = true)
+    public Map<String, String> findImportedSourceHashes(Collection<String> hashes) {
+        Map<String, String> imported = new HashMap<>();
+        List<String> all = new ArrayList<>(hashes);
+        for (int from = 0; from < all.size(); from += HASH_QUERY_CHUNK) {
+            List<String> chunk = all.subList(from, Math.min(from + HASH_QUERY_CHUNK, all.size()));
+            for (Object[] row : invoiceRepository.findImportedSourceHashes(chunk)) {
+                imported.put((String) row[0], (String) row[1]);
+            }
+        }
+        return imported;
+    }
+    
+    // Scriitorul importului în masă: un lot de facturi deja parsate, într-o singură tranzacție
+    @Transactional
+    public List<InvoiceImportResult> importParsedUBLInvoices(List<UBLInvoiceEvents.Document> documents) {
+        Set<String> numbers = new HashSet<>();
+        for (UBLInvoiceEvents.Document document : documents) {
+            if (document.getInvoiceNumber() != null) {
+                numbers.add(document.getInvoiceNumber());
+            }
+        }
+        // Numerele deja în baza de date; setul reține și numerele din lot, ca dublurile din același folder să fie sărite
+        Set<String> seenNumbers = numbers.isEmpty()
+            ? new HashSet<>()
+            : new HashSet<>(invoiceRepository.findExistingInvoiceNumbers(numbers));
+        // Importul în masă filtrează deja după hash; verificarea repetată acoperă importuri rulate în paralel
+        Set<String> seenHashes = new HashSet<>();
+        Set<String> hashes = new HashSet<>();
+        for (UBLInvoiceEvents.Document document : documents) {
+            if (document.getSourceSha256() != null) {
+                hashes.add(document.getSourceSha256());
+            }
+        }
+        if (!hashes.isEmpty()) {
+            for (Object[] row : invoiceRepository.findImportedSourceHashes(hashes)) {
+                seenHashes.add((String) row[0]);
+            }
+        }
+        Map<String, Ingredient> ingredientsByName = new HashMap<>();
+        
+        List<InvoiceImportResult> results = new ArrayList<>(documents.size());
+        for (UBLInvoiceEvents.Document document : documents) {
+            String number = document.getInvoiceNumber();
+            if ((document.getSourceSha256() != null && !seenHashes.add(document.getSourceSha256()))
+                || (number != null && !seenNumbers.add(number))) {
+                results.add(InvoiceImportResult.duplicate(document.getSourceFileName(), number));
+                continue;
             }
             
-            // Creare factură (simulare date din XML)
-            Invoice invoice = new Invoice();
-            invoice.setInvoiceNumber("INV-" + System.currentTimeMillis());
-            invoice.setSupplierName("Furnizor SPV");
-            invoice.setInvoiceDate(LocalDateTime.now());
-            invoice.setTotalAmount(BigDecimal.ZERO);
+            UBLImportHandler handler = new UBLImportHandler(document.getSourceFileName(), document.getSourcePath(), ingredientsByName);
+            handler.attachArchive(document.getArchiveContent());
+            handler.getInvoice().setSourceSha256(document.getSourceSha256());
+            UBLInvoiceReader.replay(document, handler);
+            Invoice invoice = handler.getInvoice();
+            results.add(InvoiceImportResult.imported(document.getSourceFileName(), invoice.getInvoiceNumber(), invoice.getNumberOfLines()));
+        }
+        return results;
+    }
+    
+    // Construiește factura din evenimentele cititorului UBL; liniile se salvează în loturi pe măsură ce sosesc
+    private class UBLImportHandler implements UBLInvoiceReader.Handler {
+        
+        private final Invoice invoice = new Invoice();
+        private final List<InvoiceVatBreakdown> vatBreakdown = new ArrayList<>();
+        private final List<InvoiceLine> pendingLines = new ArrayList<>(LINE_BATCH_SIZE);
+        private final Map<String, Ingredient> ingredientsByName;
+        private byte[] archiveContent;
+        private BigDecimal linesTotal = BigDecimal.ZERO;
+        private BigDecimal documentTotal;
+        private int lineCount;
+        private boolean saved;
+        
+        UBLImportHandler(String sourceFileName, String sourcePath, Map<String, Ingredient> ingredientsByName) {
+            this.ingredientsByName = ingredientsByName;
             invoice.setIsSpvImported(true);
+            invoice.setImportDate(LocalDateTime.now());
+            invoice.setSourceFileName(sourceFileName);
+            invoice.setXmlFilePath(sourcePath);
+            invoice.setStatus(STATUS_IMPORTED);
+        }
+        
+        @Override
+        public void header(UBLInvoiceEvents.Header header) {
+            // Numărul e citit înaintea liniilor: o factură existentă se respinge înainte de a scrie ceva
+            if (header.getInvoiceNumber() != null && invoiceRepository.findByInvoiceNumber(header.getInvoiceNumber()).isPresent()) {
+                throw new IllegalArgumentException("Factura " + header.getInvoiceNumber() + " este deja importată");
+            }
+            invoice.setInvoiceNumber(header.getInvoiceNumber() != null
+                ? header.getInvoiceNumber()
+                : numberSequenceService.nextFormatted(fallbackSeries()));
+            invoice.setInvoiceDate(header.getIssueDate() != null ? header.getIssueDate().atStartOfDay() : LocalDateTime.now());
+            invoice.setDueDate(header.getDueDate());
+            invoice.setInvoiceTypeCode(header.getInvoiceTypeCode());
+            invoice.setCurrency(header.getCurrency() != null ? header.getCurrency() : "RON");
+        }
+        
+        @Override
+        public void supplier(UBLInvoiceEvents.Party supplier) {
+            invoice.setSupplierName(supplier.getDisplayName());
+            invoice.setSupplierCui(supplier.getCui());
+        }
+        
+        @Override
+        public void taxSubtotal(UBLInvoiceEvents.TaxSubtotal taxSubtotal) {
+            InvoiceVatBreakdown row = new InvoiceVatBreakdown();
+            row.setCategoryId(taxSubtotal.getCategoryId());
+            row.setPercent(taxSubtotal.getPercent());
+            row.setTaxableAmount(orZero(taxSubtotal.getTaxableAmount()));
+            row.setTaxAmount(orZero(taxSubtotal.getTaxAmount()));
+            row.setExemptionReason(taxSubtotal.getExemptionReason());
+            vatBreakdown.add(row);
+        }
+        
+        @Override
+        public void monetaryTotal(UBLInvoiceEvents.MonetaryTotal total) {
+            invoice.setTaxExclusiveAmount(total.getTaxExclusiveAmount());
+            invoice.setVatAmount(total.getTaxAmount());
+            invoice.setAllowanceTotal(total.getAllowanceTotalAmount());
+            invoice.setChargeTotal(total.getChargeTotalAmount());
+            documentTotal = total.getTaxInclusiveAmount();
+        }
+        
+        @Override
+        public void line(UBLInvoiceEvents.Line ublLine) {
+            saveInvoiceOnce();
             
-            // Salvare factură
-            Invoice savedInvoice = invoiceRepository.save(invoice);
+            String name = ublLine.getItemName() != null ? ublLine.getItemName()
+                : (ublLine.getSellerItemId() != null ? ublLine.getSellerItemId() : "Articol linia " + ublLine.getLineId());
+            BigDecimal quantity = orZero(ublLine.getQuantity());
             
-            // Procesare linii factură (simulare)
-            List<String> mockIngredients = List.of("Făină", "Zahăr", "Drojdie", "Ouă", "Lapte");
+            InvoiceLine line = new InvoiceLine();
+            line.setInvoice(invoice);
+            // Întâi maparea învățată pe codul de articol al furnizorului, apoi potrivirea după nume
+            Optional<MappedItem> mapped = supplierItemMappingService.lookup(invoice.getSupplierCui(), ublLine.getSellerItemId());
+            if (mapped.isPresent()) {
+                line.setIngredient(ingredientService.getIngredientReference(mapped.get().getIngredientId()));
+                if (Objects.equals(mapped.get().getUnitCode(), ublLine.getUnitCode())) {
+                    line.setConversionFactor(mapped.get().getConversionFactor());
+                }
+            } else {
+                line.setIngredient(ingredientsByName.computeIfAbsent(name, InvoiceService.this::findOrCreateIngredient));
+            }
+            line.setProductName(name);
+            line.setQuantity(quantity);
+            line.setLineNumber(ublLine.getLineId());
+            line.setUnitCode(ublLine.getUnitCode());
+            line.setSellerItemCode(ublLine.getSellerItemId());
+            line.setVatCategory(ublLine.getVatCategory());
+            line.setVatPercent(ublLine.getVatPercent());
+            line.setAllowanceAmount(ublLine.getAllowanceCharges().isEmpty() ? null : ublLine.getAllowanceChargeAmount());
             
-            for (String ingredientName : mockIngredients) {
-                Ingredient ingredient = findOrCreateIngredient(ingredientName);
-                
-                InvoiceLine line = new InvoiceLine();
-                line.setInvoice(savedInvoice);
-                line.setIngredient(ingredient);
-                line.setQuantity(BigDecimal.valueOf(Math.random() * 100 + 10).setScale(2, java.math.RoundingMode.HALF_UP));
-                line.setUnitPrice(BigDecimal.valueOf(Math.random() * 10 + 1).setScale(2, java.math.RoundingMode.HALF_UP));
-                line.setTotalPrice(line.getQuantity().multiply(line.getUnitPrice()));
-                
-                invoiceLineRepository.save(line);
-                
-                // Actualizare total factură
-                savedInvoice.setTotalAmount(savedInvoice.getTotalAmount().add(line.getTotalPrice()));
+            // Valoarea netă a liniei include deja reducerile de pe linie
+            BigDecimal unitPrice = ublLine.getUnitPrice();
+            BigDecimal total = ublLine.getLineExtensionAmount();
+            if (unitPrice == null) {
+                unitPrice = total != null && quantity.signum() != 0
+                    ? total.divide(quantity, 4, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
             }
+            line.setUnitPrice(unitPrice);
+            line.setTotalPrice(total != null ? total : quantity.multiply(unitPrice).setScale(2, RoundingMode.HALF_UP));
             
-            // Salvare finală cu total actualizat
-            savedInvoice = invoiceRepository.save(savedInvoice);
+            linesTotal = linesTotal.add(line.getTotalPrice());
+            lineCount++;
+            pendingLines.add(line);
+            if (pendingLines.size() >= LINE_BATCH_SIZE) {
+                flushLines();
+            }
+        }
+        
+        @Override
+        public void end() {
+            saveInvoiceOnce();
+            flushLines();
             
-            System.out.println("Factură SPV importată cu succes: " + savedInvoice.getInvoiceNumber());
-            return savedInvoice;
+            for (InvoiceVatBreakdown row : vatBreakdown) {
+                row.setInvoice(invoice);
+            }
+            invoiceVatBreakdownRepository.saveAll(vatBreakdown);
             
-        } catch (Exception e) {
-            System.err.println("Eroare la importul facturii SPV: " + e.getMessage());
-            throw new IOException("Eroare la importul facturii SPV: " + e.getMessage(), e);
+            if (archiveContent != null) {
+                InvoiceArchive archive = new InvoiceArchive();
+                archive.setInvoice(invoice);
+                archive.setFileName(invoice.getSourceFileName());
+                archive.setContent(archiveContent);
+                invoiceArchiveRepository.save(archive);
+            }
+            
+            invoice.setNumberOfLines(lineCount);
+            invoice.setTotalAmount(documentTotal != null ? documentTotal : linesTotal);
+        }
+        
+        Invoice getInvoice() {
+            return invoice;
+        }
+        
+        void attachArchive(byte[] archiveContent) {
+            this.archiveContent = archiveContent;
         }
-    }
-    
-    private Ingredient findOrCreateIngredient(String ingredientName) {
-        // Încercare găsire exactă
-        List<Ingredient> ingredients = ingredientService.findByName(ingredientName);
         
-        if (!ingredients.isEmpty()) {
-            return ingredients.get(0);
+        // Seria pentru facturile fără cbc:ID: SPV pentru arhivele descărcate din SPV, IMP pentru XML-uri simple
+        private String fallbackSeries() {
+            return archiveContent != null ? NumberSequenceService.SPV_INVOICE_SERIES : NumberSequenceService.IMPORTED_INVOICE_SERIES;
         }
         
-        // Încercare căutare cu LIKE (nume conține)
-        ingredients = ingredientService.findByNameContainingIgnoreCase(ingredientName);
+        // Factura se salvează înaintea primei linii; antetul, furnizorul și totalurile vin înaintea liniilor în UBL
+        private void saveInvoiceOnce() {
+            if (saved) {
+                return;
+            }
+            if (invoice.getInvoiceNumber() == null) {
+                invoice.setInvoiceNumber(numberSequenceService.nextFormatted(fallbackSeries()));
+            }
+            if (invoice.getInvoiceDate() == null) {
+                invoice.setInvoiceDate(LocalDateTime.now());
+            }
+            if (invoice.getSupplierName() == null || invoice.getSupplierName().isBlank()) {
+                invoice.setSupplierName("Furnizor necunoscut");
+            }
+            invoiceRepository.save(invoice);
+            saved = true;
+        }
         
-        if (!ingredients.isEmpty()) {
-            System.out.println("Ingredient găsit prin LIKE: " + ingredients.get(0).getName() + " pentru căutare: " + ingredientName);
-            return ingredients.get(0);
+        private void flushLines() {
+            invoiceLineRepository.persistAndDetach(pendingLines);
+            pendingLines.clear();
+        }
+    }
+    
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+    
+    private Ingredient findOrCreateIngredient(String ingredientName) {
+        // Potrivire din indexul în memorie: fără diacritice, pe cuvinte și trigrame, fără interogări SQL
+        Optional<IngredientMatch> match = ingredientService.findBestMatch(ingredientName);
+        if (match.isPresent()) {
+            if (match.get().getScore() < 1.0) {
+                System.out.println("Ingredient găsit prin potrivire: " + match.get().getName()
+                    + String.format(" (scor %.2f)", match.get().getScore()) + " pentru: " + ingredientName);
+            }
+            return ingredientService.getIngredientReference(match.get().getIngredientId());
         }
         
         // Creare automată cu flag de revizie
@@ -149,8 +426,8 @@ public class InvoiceService {
         
         for (InvoiceLine line : invoiceLines) {
             line.setInvoice(savedInvoice);
-            invoiceLineRepository.save(line);
         }
+        invoiceLineRepository.saveAll(invoiceLines);
         
         savedInvoice.setInvoiceLines(invoiceLines);
         savedInvoice.calculateTotal();
@@ -158,20 +435,72 @@ public class InvoiceService {
         return invoiceRepository.save(savedInvoice);
     }
     
+    @Transactional(readOnly = true)
     public List<Invoice> searchInvoices(String searchTerm) {
         return invoiceRepository.searchInvoices(searchTerm);
     }
     
+    @Transactional(readOnly = true)
     public List<Invoice> getSpvInvoices() {
         return invoiceRepository.findByIsSpvImportedTrue();
     }
     
-    private void updateIngredientStocks(List<InvoiceLine> invoiceLines) {
-        for (InvoiceLine line : invoiceLines) {
-            if (line.getIngredient() != null) {
-                ingredientService.addStock(line.getIngredient().getId(), line.getQuantity());
-                ingredientService.updatePurchasePrice(line.getIngredient().getId(), line.getUnitPrice());
+    // Recepția facturii: liniile se agregă pe ingredient și stocul, împreună cu ultimul preț de achiziție,
+    // se actualizează printr-un singur batch JDBC; fiecare ingredient primește o mișcare de stoc legată de factură
+    public int postInvoice(Long invoiceId) {
+        Invoice invoice = invoiceRepository.findById(invoiceId)
+            .orElseThrow(() -> new IllegalArgumentException("Factura nu există: " + invoiceId));
+        if (invoice.getPostedAt() != null || STATUS_RECEIVED.equals(invoice.getStatus())) {
+            throw new IllegalArgumentException("Factura " + invoice.getInvoiceNumber() + " a fost deja recepționată");
+        }
+        
+        // Cantitatea în unitatea de stoc și valoarea totală, pe ingredient
+        Map<Long, BigDecimal> quantities = new LinkedHashMap<>();
+        Map<Long, BigDecimal> values = new HashMap<>();
+        for (Object[] row : invoiceLineRepository.findReceptionRows(invoiceId)) {
+            Long ingredientId = (Long) row[0];
+            BigDecimal factor = (BigDecimal) row[4];
+            if (factor == null) {
+                factor = UnitCodes.conversionFactor((String) row[3], (Ingredient.UnitOfMeasure) row[1]);
             }
+            BigDecimal quantity = orZero((BigDecimal) row[2]).multiply(factor != null ? factor : BigDecimal.ONE);
+            quantities.merge(ingredientId, quantity, BigDecimal::add);
+            values.merge(ingredientId, orZero((BigDecimal) row[5]), BigDecimal::add);
         }
+        if (quantities.isEmpty()) {
+            throw new IllegalArgumentException("Factura " + invoice.getInvoiceNumber() + " nu are linii cu ingrediente");
+        }
+        
+        // Prețul mediu ponderat pe unitatea de stoc; fără cantitate pozitivă prețul rămâne cel vechi
+        Map<Long, BigDecimal> unitPrices = new HashMap<>();
+        for (Map.Entry<Long, BigDecimal> entry : quantities.entrySet()) {
+            if (entry.getValue().signum() > 0) {
+                unitPrices.put(entry.getKey(), values.get(entry.getKey()).divide(entry.getValue(), 4, RoundingMode.HALF_UP));
+            }
+        }
+        
+        int[] updated = ingredientRepository.receiveStockBatch(quantities, unitPrices);
+        for (int rows : updated) {
+            if (rows != 1) {
+                throw new RuntimeException("Un ingredient de pe factura " + invoice.getInvoiceNumber() + " nu mai există");
+            }
+        }
+        
+        List<StockMovement> movements = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, BigDecimal> entry : quantities.entrySet()) {
+            StockMovement movement = new StockMovement();
+            movement.setIngredient(ingredientService.getIngredientReference(entry.getKey()));
+            movement.setInvoice(invoice);
+            movement.setMovementType(StockMovement.TYPE_RECEPTION);
+            movement.setQuantity(entry.getValue().setScale(3, RoundingMode.HALF_UP));
+            movement.setUnitPrice(unitPrices.get(entry.getKey()));
+            movements.add(movement);
+        }
+        stockMovementRepository.saveAll(movements);
+        
+        invoice.setStatus(STATUS_RECEIVED);
+        invoice.setPostedAt(LocalDateTime.now());
+        System.out.println("Factura " + invoice.getInvoiceNumber() + " recepționată: " + movements.size() + " ingrediente");
+        return movements.size();
     }
 }
@@ -0,0 +1,111 @@
+package com.bakerymanager.service;
+
+import com.bakerymanager.repository.NumberSequenceRepository;
+import com.bakerymanager.utils.SequenceBlock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Numere de bon/factură fără coliziuni: fiecare serie rezervă din number_sequences un bloc de valori,
+ * apoi le dă din memorie fără acces la baza de date. Un bloc rezervat de o tranzacție e folosit doar de ea
+ * până la commit; la rollback rezervarea se anulează în baza de date, deci blocul e aruncat.
+ * Valorile rămase nefolosite la închiderea aplicației devin goluri în numerotare.
+ */
+@Service
+@Transactional
+public class NumberSequenceService {
+
+    public static final String SALES_SERIES_PREFIX = "BON";
+    public static final String SPV_INVOICE_SERIES = "SPV";
+    public static final String IMPORTED_INVOICE_SERIES = "IMP";
+
+    private final NumberSequenceRepository numberSequenceRepository;
+    private final int blockSize;
+    private final String registerId;
+
+    // Blocurile comise ale fiecărei serii, împărțite între toate firele, în ordinea rezervării
+    private final Map<String, Queue<SequenceBlock>> sharedBlocks = new ConcurrentHashMap<>();
+
+    public NumberSequenceService(NumberSequenceRepository numberSequenceRepository,
+                                 @Value("${bakery.sequences.block-size:50}") int blockSize,
+                                 @Value("${bakery.sales.register-id:CASA1}") String registerId) {
+        this.numberSequenceRepository = numberSequenceRepository;
+        this.blockSize = blockSize;
+        this.registerId = registerId;
+    }
+
+    // Seria bonurilor casei curente, ex. BON-CASA1
+    public String getSalesSeries() {
+        return SALES_SERIES_PREFIX + "-" + registerId;
+    }
+
+    public String nextSaleNumber() {
+        return nextFormatted(getSalesSeries());
+    }
+
+    // Ex. BON-CASA1-000042
+    public String nextFormatted(String series) {
+        return String.format("%s-%06d", series, nextValue(series));
+    }
+
+    public long nextValue(String series) {
+        Queue<SequenceBlock> shared = sharedBlocks.computeIfAbsent(series, key -> new ConcurrentLinkedQueue<>());
+        SequenceBlock head;
+        while ((head = shared.peek()) != null) {
+            long value = head.take();
+            if (value > 0) {
+                return value;
+            }
+            shared.remove(head);
+        }
+
+        // Blocul rezervat deja de tranzacția curentă, încă necomis
+        Map<String, SequenceBlock> transactionBlocks = getTransactionBlocks();
+        SequenceBlock own = transactionBlocks.get(series);
+        if (own != null) {
+            long value = own.take();
+            if (value > 0) {
+                return value;
+            }
+        }
+
+        long first = numberSequenceRepository.reserveBlock(series, blockSize);
+        SequenceBlock reserved = new SequenceBlock(first, first + blockSize);
+        transactionBlocks.put(series, reserved);
+        return reserved.take();
+    }
+
+    private Map<String, SequenceBlock> getTransactionBlocks() {
+        @SuppressWarnings("unchecked")
+        Map<String, SequenceBlock> blocks = (Map<String, SequenceBlock>) TransactionSynchronizationManager.getResource(this);
+        if (blocks != null) {
+            return blocks;
+        }
+        Map<String, SequenceBlock> created = new ConcurrentHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(NumberSequenceService.this);
+                if (status != STATUS_COMMITTED) {
+                    return; // rezervarea a fost anulată odată cu tranzacția
+                }
+                // Restul blocului devine disponibil tuturor
+                created.forEach((series, block) -> {
+                    if (block.remaining() > 0) {
+                        sharedBlocks.computeIfAbsent(series, key -> new ConcurrentLinkedQueue<>()).add(block);
+                    }
+                });
+            }
+        });
+        return created;
+    }
+}
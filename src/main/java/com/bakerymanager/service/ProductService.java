@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,18 +20,22 @@ public class ProductService {
         this.productRepository = productRepository;
     }
     
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public List<Product> getActiveProducts() {
         return productRepository.findByIsActiveTrueOrderByName();
     }
     
+    @Transactional(readOnly = true)
     public List<Product> getAvailableProducts() {
         return productRepository.findAvailableProducts();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Product> getProductById(Long id) {
         if (id == null) {
             return Optional.empty();
@@ -38,10 +43,12 @@ public class ProductService {
         return productRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Product> getProductByName(String name) {
         return productRepository.findByName(name);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Product> getProductByBarcode(String barcode) {
         return productRepository.findByBarcode(barcode);
     }
@@ -69,10 +76,12 @@ public class ProductService {
         }
     }
     
+    @Transactional(readOnly = true)
     public List<Product> searchProducts(String searchTerm) {
         return productRepository.searchProducts(searchTerm);
     }
     
+    @Transactional(readOnly = true)
     public List<Product> getLowStockProducts() {
         return productRepository.findLowStockProducts();
     }
@@ -91,17 +100,15 @@ public class ProductService {
         if (productId == null) {
             throw new IllegalArgumentException("ID-ul produsului nu poate fi null");
         }
-        Product product = productRepository.findById(productId)
-            .orElseThrow(() -> new RuntimeException("Product not found: " + productId));
-        
-        if (!product.hasSufficientStock(quantity)) {
+        // Scădere condiționată direct în baza de date; produsul se citește doar pentru mesajul de eroare
+        if (productRepository.decrementStockIfAvailable(productId, quantity, LocalDateTime.now()) == 0) {
+            Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found: " + productId));
             throw new RuntimeException("Insufficient stock for product: " + product.getName());
         }
-        
-        product.removeStock(quantity);
-        productRepository.save(product);
     }
     
+    @Transactional(readOnly = true)
     public boolean hasSufficientStock(Long productId, BigDecimal requiredQuantity) {
         if (productId == null) {
             throw new IllegalArgumentException("ID-ul produsului nu poate fi null");
@@ -1,17 +1,21 @@
 package com.bakerymanager.service;
 
+import com.bakerymanager.dto.ProductionReport;
+import com.bakerymanager.dto.RecipeLineView;
 import com.bakerymanager.entity.Product;
 import com.bakerymanager.entity.Ingredient;
 import com.bakerymanager.entity.RecipeItem;
+import com.bakerymanager.repository.IngredientRepository;
 import com.bakerymanager.repository.RecipeItemRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -20,23 +24,33 @@ public class ProductionService {
     private final RecipeItemRepository recipeItemRepository;
     private final ProductService productService;
     private final IngredientService ingredientService;
+    private final IngredientRepository ingredientRepository;
     
     public ProductionService(RecipeItemRepository recipeItemRepository, 
                            ProductService productService, 
-                           IngredientService ingredientService) {
+                           IngredientService ingredientService,
+                           IngredientRepository ingredientRepository) {
         this.recipeItemRepository = recipeItemRepository;
         this.productService = productService;
         this.ingredientService = ingredientService;
+        this.ingredientRepository = ingredientRepository;
     }
     
+    @Transactional(readOnly = true)
     public List<RecipeItem> getRecipeByProduct(Long productId) {
         return recipeItemRepository.findByProductId(productId);
     }
     
+    @Transactional(readOnly = true)
     public List<RecipeItem> getRecipeByProduct(Product product) {
         return recipeItemRepository.findByProduct(product);
     }
     
+    @Transactional(readOnly = true)
+    public List<RecipeLineView> getRecipeLines(Long productId) {
+        return recipeItemRepository.findRecipeLinesByProductId(productId);
+    }
+    
     public RecipeItem addRecipeItem(Long productId, Long ingredientId, BigDecimal requiredQuantity) {
         Product product = productService.getProductById(productId)
             .orElseThrow(() -> new RuntimeException("Product not found: " + productId));
@@ -57,6 +71,41 @@ public class ProductionService {
         }
     }
     
+    // Copiază rețeta altui produs; liniile existente pentru aceleași ingrediente primesc cantitatea din sursă
+    public int copyRecipe(Long sourceProductId, Long targetProductId) {
+        if (sourceProductId.equals(targetProductId)) {
+            throw new IllegalArgumentException("Produsul sursă și cel destinație trebuie să fie diferite");
+        }
+        Product target = productService.getProductById(targetProductId)
+            .orElseThrow(() -> new RuntimeException("Product not found: " + targetProductId));
+        List<RecipeItem> sourceItems = recipeItemRepository.findByProductIdWithIngredients(sourceProductId);
+        if (sourceItems.isEmpty()) {
+            throw new IllegalArgumentException("Produsul sursă nu are rețetă definită");
+        }
+        
+        Map<Long, RecipeItem> existingByIngredient = new LinkedHashMap<>();
+        for (RecipeItem item : recipeItemRepository.findByProductIdWithIngredients(targetProductId)) {
+            existingByIngredient.put(item.getIngredient().getId(), item);
+        }
+        
+        List<RecipeItem> copied = new ArrayList<>();
+        for (RecipeItem sourceItem : sourceItems) {
+            RecipeItem item = existingByIngredient.get(sourceItem.getIngredient().getId());
+            if (item == null) {
+                item = new RecipeItem();
+                item.setProduct(target);
+                item.setIngredient(sourceItem.getIngredient());
+            }
+            item.setRequiredQuantity(sourceItem.getRequiredQuantity());
+            copied.add(item);
+        }
+        
+        // Liniile noi primesc id-uri din bloc, deci pleacă la flush într-un singur batch de INSERT-uri
+        recipeItemRepository.saveAll(copied);
+        System.out.println("Rețetă copiată: " + copied.size() + " ingrediente -> " + target.getName());
+        return copied.size();
+    }
+    
     public void removeRecipeItem(Long recipeItemId) {
         recipeItemRepository.deleteById(recipeItemId);
     }
@@ -71,58 +120,75 @@ public class ProductionService {
             .ifPresent(item -> recipeItemRepository.delete(item));
     }
     
-    public void executeProduction(Long productId, BigDecimal quantity) {
-        Product product = productService.getProductById(productId)
-            .orElseThrow(() -> new RuntimeException("Product not found: " + productId));
-        
-        List<RecipeItem> recipeItems = recipeItemRepository.findByProduct(product);
-        if (recipeItems.isEmpty()) {
-            throw new RuntimeException("No recipe defined for product: " + product.getName());
+    public ProductionReport executeProduction(Long productId, BigDecimal quantity) {
+        ProductionReport report = checkProduction(productId, quantity);
+        if (!report.isSufficient()) {
+            return report;
         }
         
-        Map<Long, BigDecimal> requiredIngredients = recipeItems.stream()
-            .collect(Collectors.toMap(
-                item -> item.getIngredient().getId(),
-                item -> item.getTotalRequiredQuantity(quantity)
-            ));
-        
-        for (Map.Entry<Long, BigDecimal> entry : requiredIngredients.entrySet()) {
-            if (!ingredientService.hasSufficientStock(entry.getKey(), entry.getValue())) {
-                Ingredient ingredient = ingredientService.getIngredientById(entry.getKey()).get();
-                throw new RuntimeException("Insufficient stock for ingredient: " + ingredient.getName() + 
-                    ". Required: " + entry.getValue() + ", Available: " + ingredient.getCurrentStock());
-            }
+        Map<Long, BigDecimal> requiredIngredients = new LinkedHashMap<>();
+        for (ProductionReport.IngredientLine line : report.getLines()) {
+            requiredIngredients.put(line.getIngredientId(), line.getRequiredQuantity());
         }
         
-        for (Map.Entry<Long, BigDecimal> entry : requiredIngredients.entrySet()) {
-            ingredientService.removeStock(entry.getKey(), entry.getValue());
+        // Verificare și scădere atomică într-un singur batch; dacă între timp stocul a scăzut, tranzacția se anulează
+        int[] updated = ingredientRepository.decrementStockBatch(requiredIngredients);
+        for (int rows : updated) {
+            if (rows == 0) {
+                throw new RuntimeException("Stocul ingredientelor s-a modificat între timp. Reîncercați producția.");
+            }
         }
         
         productService.addStock(productId, quantity);
+        report.setExecuted(true);
+        return report;
     }
     
-    public Map<Ingredient, BigDecimal> calculateRequiredIngredients(Long productId, BigDecimal quantity) {
+    // Necesar vs. disponibil pentru toate ingredientele rețetei, citite într-o singură interogare
+    @Transactional(readOnly = true)
+    public ProductionReport checkProduction(Long productId, BigDecimal quantity) {
         Product product = productService.getProductById(productId)
             .orElseThrow(() -> new RuntimeException("Product not found: " + productId));
         
-        List<RecipeItem> recipeItems = recipeItemRepository.findByProduct(product);
+        List<RecipeItem> recipeItems = recipeItemRepository.findByProductIdWithIngredients(productId);
+        if (recipeItems.isEmpty()) {
+            throw new RuntimeException("No recipe defined for product: " + product.getName());
+        }
         
-        return recipeItems.stream()
-            .collect(Collectors.toMap(
-                RecipeItem::getIngredient,
-                item -> item.getTotalRequiredQuantity(quantity)
+        Map<Ingredient, BigDecimal> requiredIngredients = new LinkedHashMap<>();
+        for (RecipeItem item : recipeItems) {
+            requiredIngredients.merge(item.getIngredient(), item.getTotalRequiredQuantity(quantity), BigDecimal::add);
+        }
+        
+        List<ProductionReport.IngredientLine> lines = new ArrayList<>();
+        for (Map.Entry<Ingredient, BigDecimal> entry : requiredIngredients.entrySet()) {
+            Ingredient ingredient = entry.getKey();
+            lines.add(new ProductionReport.IngredientLine(
+                ingredient.getId(),
+                ingredient.getName(),
+                ingredient.getUnitOfMeasure().getDisplayName(),
+                entry.getValue(),
+                ingredient.getCurrentStock()
             ));
+        }
+        return new ProductionReport(product.getId(), product.getName(), quantity, lines);
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<Ingredient, BigDecimal> calculateRequiredIngredients(Long productId, BigDecimal quantity) {
+        List<RecipeItem> recipeItems = recipeItemRepository.findByProductIdWithIngredients(productId);
+        
+        Map<Ingredient, BigDecimal> requiredIngredients = new LinkedHashMap<>();
+        for (RecipeItem item : recipeItems) {
+            requiredIngredients.merge(item.getIngredient(), item.getTotalRequiredQuantity(quantity), BigDecimal::add);
+        }
+        return requiredIngredients;
     }
     
+    @Transactional(readOnly = true)
     public boolean canProduce(Long productId, BigDecimal quantity) {
         try {
-            Map<Ingredient, BigDecimal> requiredIngredients = calculateRequiredIngredients(productId, quantity);
-            for (Map.Entry<Ingredient, BigDecimal> entry : requiredIngredients.entrySet()) {
-                if (!ingredientService.hasSufficientStock(entry.getKey().getId(), entry.getValue())) {
-                    return false;
-                }
-            }
-            return true;
+            return checkProduction(productId, quantity).isSufficient();
         } catch (Exception e) {
             return false;
         }
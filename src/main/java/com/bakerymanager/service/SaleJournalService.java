@@ -0,0 +1,336 @@
+package com.bakerymanager.service;
+
+import com.bakerymanager.dto.JournaledSale;
+import com.bakerymanager.utils.SaleJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mod opțional de încasare: vânzarea se scrie în jurnalul local și casa primește confirmarea imediat,
+ * iar un fir de fundal o salvează în sales/sale_items în loturi. La pornire, intrările necomise se reiau.
+ * Activat cu {@code bakery.sales.journal.enabled=true}.
+ */
+@Service
+public class SaleJournalService {
+
+    private static final long RETRY_PAUSE_MS = 250;
+
+    private final SaleService saleService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Path journalPath;
+    private final Path rejectedPath;
+    private final int capacityBytes;
+    private final int batchSize;
+    private final long intervalMs;
+    private final int maxRetries;
+
+    private final ConcurrentLinkedQueue<JournaledSale> pending = new ConcurrentLinkedQueue<>();
+    private final Object appendLock = new Object();
+    private final Object drainLock = new Object();
+
+    private SaleJournal journal;
+    private ScheduledExecutorService committer;
+    private volatile long rejectedCount;
+
+    public SaleJournalService(SaleService saleService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${bakery.sales.journal.enabled:false}") boolean enabled,
+                              @Value("${bakery.sales.journal.path:sales.journal}") String path,
+                              @Value("${bakery.sales.journal.capacity-mb:16}") int capacityMb,
+                              @Value("${bakery.sales.journal.batch-size:50}") int batchSize,
+                              @Value("${bakery.sales.journal.interval-ms:500}") long intervalMs,
+                              @Value("${bakery.sales.journal.max-retries:20}") int maxRetries) {
+        this.saleService = saleService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.journalPath = Path.of(path);
+        this.rejectedPath = Path.of(path + ".rejected");
+        this.capacityBytes = capacityMb * 1024 * 1024;
+        this.batchSize = batchSize;
+        this.intervalMs = intervalMs;
+        this.maxRetries = maxRetries;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        // Un fișier nou pornește secvențele de la ora curentă, ca numerele JRN- să nu se repete
+        journal = new SaleJournal(journalPath, capacityBytes, System.currentTimeMillis());
+        for (SaleJournal.Entry entry : journal.getRecoveredEntries()) {
+            pending.add(decode(entry.sequence(), entry.payload()));
+        }
+        if (!pending.isEmpty()) {
+            System.out.println("Jurnal vânzări: " + pending.size() + " vânzări necomise de reluat");
+        }
+
+        committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sale-journal-committer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(this::drainSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Scrie vânzarea în jurnal și întoarce numărul de secvență; nu atinge baza de date
+    public long submit(List<SaleService.CartItem> cartItems, String paymentMethod, BigDecimal cashReceived, String operator) {
+        if (!enabled) {
+            throw new IllegalStateException("Jurnalul de vânzări nu este activat");
+        }
+        if (cartItems == null || cartItems.isEmpty()) {
+            throw new IllegalArgumentException("Coșul este gol");
+        }
+        for (SaleService.CartItem item : cartItems) {
+            if (item.getProductId() == null) {
+                throw new IllegalArgumentException("ID-ul produsului nu poate fi null");
+            }
+            if (item.getQuantity() == null || item.getQuantity().signum() <= 0) {
+                throw new IllegalArgumentException("Cantitatea trebuie să fie pozitivă");
+            }
+        }
+
+        LocalDateTime saleDate = LocalDateTime.now();
+        byte[] payload = encode(saleDate, paymentMethod, cashReceived, operator, cartItems);
+
+        synchronized (appendLock) {
+            if (!journal.hasRoomFor(payload.length)) {
+                // Jurnal plin: se golește sincron (rar, doar dacă baza de date a rămas mult în urmă)
+                drain(Integer.MAX_VALUE);
+            }
+            long sequence = journal.append(payload);
+            pending.add(new JournaledSale(sequence, saleDate, paymentMethod, cashReceived, operator, List.copyOf(cartItems)));
+            return sequence;
+        }
+    }
+
+    public long getPendingCount() {
+        return enabled ? journal.getPendingCount() : 0;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    private void drainSafely() {
+        try {
+            drain(batchSize);
+        } catch (Exception e) {
+            // Intrările rămân în coadă și se reîncearcă la următorul ciclu
+            System.err.println("Eroare la salvarea vânzărilor din jurnal: " + e.getMessage());
+        }
+    }
+
+    // Salvează intrările din coadă în loturi de cel mult maxBatch, în ordinea secvenței
+    private void drain(int maxBatch) {
+        synchronized (drainLock) {
+            journal.force();
+            while (!pending.isEmpty()) {
+                List<JournaledSale> batch = new ArrayList<>();
+                for (JournaledSale sale : pending) {
+                    batch.add(sale);
+                    if (batch.size() >= Math.min(maxBatch, batchSize)) {
+                        break;
+                    }
+                }
+
+                int processed = commitBatch(batch);
+                for (int i = 0; i < processed; i++) {
+                    pending.poll();
+                }
+                if (processed > 0) {
+                    journal.markCommitted(batch.get(processed - 1).getSequence() + 1);
+                    journal.force();
+                }
+
+                if (maxBatch != Integer.MAX_VALUE) {
+                    break;
+                }
+                if (processed < batch.size()) {
+                    // Golire sincronă cu baza de date ocupată: scurtă pauză, încercările sunt limitate de maxRetries
+                    try {
+                        Thread.sleep(RETRY_PAUSE_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            if (journal.resetIfDrained()) {
+                System.out.println("Jurnal vânzări golit");
+            }
+        }
+    }
+
+    // Întoarce câte intrări de la începutul lotului sunt rezolvate (salvate sau respinse)
+    private int commitBatch(List<JournaledSale> batch) {
+        try {
+            // Un singur commit SQLite pentru tot lotul
+            transactionTemplate.executeWithoutResult(status -> {
+                for (JournaledSale sale : batch) {
+                    persist(sale);
+                }
+            });
+            System.out.println("Jurnal vânzări: " + batch.size() + " vânzări salvate");
+            return batch.size();
+        } catch (RuntimeException e) {
+            // Lotul a eșuat; se reia fiecare vânzare separat ca eroarea să fie izolată
+            int processed = 0;
+            for (JournaledSale sale : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(sale));
+                } catch (RuntimeException failure) {
+                    if (isTransient(failure) && sale.incrementTransientFailures() <= maxRetries) {
+                        // Baza de date ocupată: vânzarea și cele de după ea rămân în coadă, în ordine
+                        System.err.println("Baza de date ocupată, vânzarea " + sale.getInvoiceNumber()
+                            + " se reîncearcă: " + failure.getMessage());
+                        return processed;
+                    }
+                    // Orice altă eroare e permanentă pentru această vânzare; nu trebuie să blocheze coada
+                    reject(sale, failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName());
+                }
+                processed++;
+            }
+            return processed;
+        }
+    }
+
+    // SQLITE_BUSY/SQLITE_LOCKED și erorile Spring marcate ca trecătoare; restul nu se rezolvă prin reîncercare
+    private static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException) {
+                return true;
+            }
+            if (cause instanceof SQLException && cause.getMessage() != null) {
+                String message = cause.getMessage();
+                if (message.contains("SQLITE_BUSY") || message.contains("SQLITE_LOCKED") || message.contains("database is locked")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void persist(JournaledSale sale) {
+        if (saleService.existsByInvoiceNumber(sale.getInvoiceNumber())) {
+            return; // salvată înainte de cădere, dar jurnalul nu apucase să o marcheze
+        }
+        saleService.createSale(sale.getItems(), sale.getPaymentMethod(), sale.getCashReceived(),
+            sale.getOperator(), sale.getSaleDate(), sale.getInvoiceNumber());
+    }
+
+    // Vânzările respinse de baza de date (ex. stoc insuficient) se păstrează pentru verificare manuală
+    private void reject(JournaledSale sale, String reason) {
+        rejectedCount++;
+        StringBuilder line = new StringBuilder();
+        line.append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+            .append(" | ").append(sale.getInvoiceNumber())
+            .append(" | ").append(sale.getSaleDate().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+            .append(" | ").append(sale.getPaymentMethod())
+            .append(" | ").append(reason)
+            .append(" |");
+        for (SaleService.CartItem item : sale.getItems()) {
+            line.append(' ').append(item.getProductId()).append('x').append(item.getQuantity())
+                .append('@').append(item.getUnitPrice());
+        }
+        line.append(System.lineSeparator());
+
+        try {
+            Files.writeString(rejectedPath, line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.err.println("Vânzare respinsă din jurnal: " + sale.getInvoiceNumber() + " - " + reason);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        committer.shutdown();
+        try {
+            committer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            drain(Integer.MAX_VALUE);
+        } catch (Exception e) {
+            System.err.println("Vânzări rămase în jurnal la închidere: " + e.getMessage());
+        }
+        journal.close();
+    }
+
+    private static byte[] encode(LocalDateTime saleDate, String paymentMethod, BigDecimal cashReceived,
+                                 String operator, List<SaleService.CartItem> items) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(saleDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            out.writeUTF(paymentMethod != null ? paymentMethod : "");
+            out.writeUTF(cashReceived != null ? cashReceived.toPlainString() : "");
+            out.writeUTF(operator != null ? operator : "");
+            out.writeInt(items.size());
+            for (SaleService.CartItem item : items) {
+                out.writeLong(item.getProductId());
+                out.writeUTF(item.getQuantity().toPlainString());
+                out.writeUTF(item.getUnitPrice() != null ? item.getUnitPrice().toPlainString() : "0");
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JournaledSale decode(long sequence, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        LocalDateTime saleDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneId.systemDefault());
+        String paymentMethod = in.readUTF();
+        String cash = in.readUTF();
+        String operator = in.readUTF();
+        int count = in.readInt();
+        List<SaleService.CartItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new SaleService.CartItem(in.readLong(), new BigDecimal(in.readUTF()), new BigDecimal(in.readUTF())));
+        }
+        return new JournaledSale(sequence, saleDate, paymentMethod.isEmpty() ? null : paymentMethod,
+            cash.isEmpty() ? null : new BigDecimal(cash), operator.isEmpty() ? null : operator, items);
+    }
+}
@@ -1,5 +1,7 @@
 package com.bakerymanager.service;
 
+import com.bakerymanager.dto.SaleHistoryFilter;
+import com.bakerymanager.dto.SaleHistoryRow;
 import com.bakerymanager.entity.Sale;
 import com.bakerymanager.entity.SaleItem;
 import com.bakerymanager.entity.Product;
@@ -10,9 +12,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -21,53 +27,82 @@ public class SaleService {
     private final SaleRepository saleRepository;
     private final SaleItemRepository saleItemRepository;
     private final ProductRepository productRepository;
+    private final SalesRollupService salesRollupService;
+    private final NumberSequenceService numberSequenceService;
     
     public SaleService(SaleRepository saleRepository, 
                        SaleItemRepository saleItemRepository,
-                       ProductRepository productRepository) {
+                       ProductRepository productRepository,
+                       SalesRollupService salesRollupService,
+                       NumberSequenceService numberSequenceService) {
         this.saleRepository = saleRepository;
         this.saleItemRepository = saleItemRepository;
         this.productRepository = productRepository;
+        this.salesRollupService = salesRollupService;
+        this.numberSequenceService = numberSequenceService;
     }
     
     @Transactional
     public Sale createSale(List<CartItem> cartItems, String paymentMethod, BigDecimal cashReceived, String operator) {
+        return createSale(cartItems, paymentMethod, cashReceived, operator, LocalDateTime.now(), null);
+    }
+    
+    // Folosit și de jurnalul de vânzări: data și numărul bonului vin din momentul încasării
+    @Transactional
+    public Sale createSale(List<CartItem> cartItems, String paymentMethod, BigDecimal cashReceived, String operator,
+                           LocalDateTime saleDate, String invoiceNumber) {
         if (cartItems == null || cartItems.isEmpty()) {
             throw new IllegalArgumentException("Coșul este gol");
         }
         
         // Creare vânzare
         Sale sale = new Sale();
-        sale.setSaleDate(LocalDateTime.now());
+        sale.setSaleDate(saleDate != null ? saleDate : LocalDateTime.now());
+        sale.setInvoiceNumber(invoiceNumber != null ? invoiceNumber : numberSequenceService.nextSaleNumber());
         sale.setPaymentMethod(paymentMethod);
         sale.setCashReceived(cashReceived != null ? cashReceived : BigDecimal.ZERO);
         sale.setOperator(operator != null ? operator : "Operator");
         
-        // Calculare total și creare items
-        List<SaleItem> saleItems = new ArrayList<>();
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        
+        // Cantități cumulate pe produs (același produs poate apărea pe mai multe linii)
+        Map<Long, BigDecimal> quantitiesByProduct = new LinkedHashMap<>();
         for (CartItem cartItem : cartItems) {
             Long productId = cartItem.getProductId();
             if (productId == null) {
                 throw new IllegalArgumentException("ID-ul produsului nu poate fi null");
             }
-            Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Produsul nu există: " + productId));
-            
-            // Verificare stoc
-            if (product.getCurrentStock().compareTo(cartItem.getQuantity()) < 0) {
+            if (cartItem.getQuantity() == null || cartItem.getQuantity().signum() <= 0) {
+                throw new IllegalArgumentException("Cantitatea trebuie să fie pozitivă");
+            }
+            quantitiesByProduct.merge(productId, cartItem.getQuantity(), BigDecimal::add);
+        }
+        
+        // Scădere stoc atomică: un singur batch de UPDATE-uri condiționate, fără citire-modificare-scriere
+        int[] updated = productRepository.decrementStockBatch(quantitiesByProduct);
+        int index = 0;
+        for (Long productId : quantitiesByProduct.keySet()) {
+            if (updated[index++] == 0) {
+                // Tranzacția se anulează, deci și scăderile deja aplicate pentru celelalte produse
+                Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new IllegalArgumentException("Produsul nu există: " + productId));
                 throw new IllegalArgumentException("Stoc insuficient pentru: " + product.getName());
             }
-            
-            // Scădere stoc
-            product.setCurrentStock(product.getCurrentStock().subtract(cartItem.getQuantity()));
-            productRepository.save(product);
-            
+        }
+        
+        // Produsele se încarcă după UPDATE, deci contextul de persistență vede stocul nou
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(quantitiesByProduct.keySet())) {
+            products.put(product.getId(), product);
+        }
+        
+        // Calculare total și creare items
+        List<SaleItem> saleItems = new ArrayList<>();
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        
+        for (CartItem cartItem : cartItems) {
             // Creare SaleItem
             SaleItem saleItem = new SaleItem();
             saleItem.setSale(sale);
-            saleItem.setProduct(product);
+            saleItem.setProduct(products.get(cartItem.getProductId()));
             saleItem.setQuantity(cartItem.getQuantity());
             saleItem.setUnitPrice(cartItem.getUnitPrice());
             saleItem.calculateTotal();
@@ -88,44 +123,98 @@ public class SaleService {
         // Salvare vânzare
         Sale savedSale = saleRepository.save(sale);
         
-        // Salvare items
+        // Salvare items: id-urile vin din blocuri, deci INSERT-urile pleacă într-un singur batch la flush
         for (SaleItem item : saleItems) {
             item.setSale(savedSale);
-            saleItemRepository.save(item);
         }
+        saleItemRepository.saveAll(saleItems);
+        
+        // Agregatul zilnic se actualizează în aceeași tranzacție
+        salesRollupService.recordSale(savedSale, saleItems);
         
         System.out.println("Vânzare salvată cu succes: ID=" + savedSale.getId() + ", Total=" + savedSale.getTotalAmount());
         return savedSale;
     }
     
+    @Transactional(readOnly = true)
+    public boolean existsByInvoiceNumber(String invoiceNumber) {
+        return saleRepository.existsByInvoiceNumber(invoiceNumber);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Sale> getAllSales() {
         return saleRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public List<Sale> getSalesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return saleRepository.findSalesByDateRange(startDate, endDate);
     }
     
+    @Transactional(readOnly = true)
     public List<Sale> getTodaySales() {
-        return saleRepository.findTodaySales();
+        return saleRepository.findSalesByDay(LocalDate.now());
     }
     
+    @Transactional(readOnly = true)
     public BigDecimal getTodayTotalSales() {
-        return saleRepository.getTodayTotalSales();
+        return saleRepository.getTotalSalesByDay(LocalDate.now());
     }
     
+    @Transactional(readOnly = true)
+    public List<Sale> getSalesByDay(LocalDate day) {
+        return saleRepository.findSalesByDay(day);
+    }
+    
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalSalesByDay(LocalDate day) {
+        return saleRepository.getTotalSalesByDay(day);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Object[]> getDailyTotals(LocalDate startDay, LocalDate endDay) {
+        return saleRepository.getDailyTotalsByDayRange(startDay, endDay);
+    }
+    
+    @Transactional(readOnly = true)
     public BigDecimal getTotalSalesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return saleRepository.getTotalSalesByDateRange(startDate, endDate);
     }
     
+    @Transactional(readOnly = true)
+    public List<SaleHistoryRow> getSalesHistoryPage(SaleHistoryFilter filter, SaleHistoryRow after, int pageSize) {
+        return saleRepository.findHistoryOlderThan(filter, 
+            after != null ? after.getSaleDate() : null, 
+            after != null ? after.getId() : null, 
+            pageSize);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<SaleHistoryRow> getSalesHistoryPageBefore(SaleHistoryFilter filter, SaleHistoryRow before, int pageSize) {
+        return saleRepository.findHistoryNewerThan(filter, before.getSaleDate(), before.getId(), pageSize);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<String> getOperators() {
+        return saleRepository.findDistinctOperators();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<String> getPaymentMethods() {
+        return saleRepository.findDistinctPaymentMethods();
+    }
+    
+    @Transactional(readOnly = true)
     public List<SaleItem> getSaleItems(Long saleId) {
         return saleItemRepository.findItemsBySaleId(saleId);
     }
     
+    @Transactional(readOnly = true)
     public List<Object[]> getTopSellingProducts(LocalDateTime startDate, LocalDateTime endDate) {
         return saleItemRepository.getTopSellingProductsByDateRange(startDate, endDate);
     }
     
+    @Transactional(readOnly = true)
     public Sale getSaleById(Long id) {
         if (id == null) {
             return null;
@@ -138,14 +227,15 @@ public class SaleService {
         
         Sale sale = saleRepository.findById(id).orElse(null);
         if (sale != null) {
-            // Restaurare stoc
+            // Restaurare stoc (incrementare atomică, cumulată pe produs)
+            Map<Long, BigDecimal> quantitiesByProduct = new LinkedHashMap<>();
             for (SaleItem item : sale.getSaleItems()) {
                 if (item.getProduct() != null) {
-                    Product product = item.getProduct();
-                    product.setCurrentStock(product.getCurrentStock().add(item.getQuantity()));
-                    productRepository.save(product);
+                    quantitiesByProduct.merge(item.getProduct().getId(), item.getQuantity(), BigDecimal::add);
                 }
             }
+            productRepository.incrementStockBatch(quantitiesByProduct);
+            salesRollupService.reverseSale(sale);
             
             saleRepository.delete(sale);
             System.out.println("Vânzare ștearsă: ID=" + id);
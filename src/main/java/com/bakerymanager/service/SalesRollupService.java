@@ -0,0 +1,91 @@
+package com.bakerymanager.service;
+
+import com.bakerymanager.dto.SalesRollupDelta;
+import com.bakerymanager.entity.Sale;
+import com.bakerymanager.entity.SaleItem;
+import com.bakerymanager.repository.DailySalesRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@Transactional
+public class SalesRollupService {
+    
+    private final DailySalesRollupRepository rollupRepository;
+    
+    public SalesRollupService(DailySalesRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+    
+    // Apelat din aceeași tranzacție cu salvarea vânzării
+    public void recordSale(Sale sale, Collection<SaleItem> items) {
+        rollupRepository.applyDeltas(sale.getSaleDay(), toDeltas(items));
+    }
+    
+    // Apelat din aceeași tranzacție cu ștergerea vânzării
+    public void reverseSale(Sale sale) {
+        List<SalesRollupDelta> reversed = new ArrayList<>();
+        for (SalesRollupDelta delta : toDeltas(sale.getSaleItems())) {
+            reversed.add(delta.negate());
+        }
+        rollupRepository.applyDeltas(sale.getSaleDay(), reversed);
+    }
+    
+    public int rebuild() {
+        int rows = rollupRepository.rebuildFromSales();
+        System.out.println("Agregat vânzări reconstruit: " + rows + " rânduri");
+        return rows;
+    }
+    
+    // [productId, productName, saleCount, quantity, revenue], descrescător după încasări
+    @Transactional(readOnly = true)
+    public List<Object[]> getProductTotals(LocalDate startDay, LocalDate endDay) {
+        return rollupRepository.getProductTotals(startDay, endDay);
+    }
+    
+    // [businessDay, quantity, revenue], crescător după zi
+    @Transactional(readOnly = true)
+    public List<Object[]> getDailyTotals(LocalDate startDay, LocalDate endDay) {
+        return rollupRepository.getDailyTotals(startDay, endDay);
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<YearMonth, BigDecimal> getMonthlyRevenue(LocalDate startDay, LocalDate endDay) {
+        Map<YearMonth, BigDecimal> monthly = new TreeMap<>();
+        for (Object[] row : rollupRepository.getDailyTotals(startDay, endDay)) {
+            monthly.merge(YearMonth.from((LocalDate) row[0]), (BigDecimal) row[2], BigDecimal::add);
+        }
+        return monthly;
+    }
+    
+    // O vânzare contribuie cu un bon pentru fiecare produs distinct, oricâte linii ar avea
+    private Collection<SalesRollupDelta> toDeltas(Collection<SaleItem> items) {
+        Map<Long, SaleItem> firstLine = new LinkedHashMap<>();
+        Map<Long, BigDecimal> quantities = new LinkedHashMap<>();
+        Map<Long, BigDecimal> revenues = new LinkedHashMap<>();
+        for (SaleItem item : items) {
+            Long productId = item.getProduct().getId();
+            firstLine.putIfAbsent(productId, item);
+            quantities.merge(productId, item.getQuantity(), BigDecimal::add);
+            revenues.merge(productId, item.getTotalPrice(), BigDecimal::add);
+        }
+        
+        List<SalesRollupDelta> deltas = new ArrayList<>();
+        for (Map.Entry<Long, SaleItem> entry : firstLine.entrySet()) {
+            Long productId = entry.getKey();
+            deltas.add(new SalesRollupDelta(productId, entry.getValue().getProductName(), 1,
+                quantities.get(productId), revenues.get(productId)));
+        }
+        return deltas;
+    }
+}
@@ -0,0 +1,165 @@
+package com.bakerymanager.service;
+
+import com.bakerymanager.dto.MappedItem;
+import com.bakerymanager.entity.Invoice;
+import com.bakerymanager.entity.InvoiceLine;
+import com.bakerymanager.entity.SupplierItemMapping;
+import com.bakerymanager.repository.IngredientRepository;
+import com.bakerymanager.repository.InvoiceLineRepository;
+import com.bakerymanager.repository.InvoiceRepository;
+import com.bakerymanager.repository.SupplierItemMappingRepository;
+import com.bakerymanager.utils.UnitCodes;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maparea învățată (CUI furnizor, cod articol furnizor) -> ingredient. Se învață când o factură importată
+ * e confirmată și se consultă prima la import, printr-o căutare directă în memorie; facturile recurente
+ * ale aceluiași furnizor se mapează astfel fără potrivire după nume.
+ */
+@Service
+@Transactional
+public class SupplierItemMappingService {
+
+    private final SupplierItemMappingRepository supplierItemMappingRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceLineRepository invoiceLineRepository;
+    private final IngredientRepository ingredientRepository;
+
+    private final Map<String, MappedItem> mappings = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public SupplierItemMappingService(SupplierItemMappingRepository supplierItemMappingRepository,
+                                      InvoiceRepository invoiceRepository,
+                                      InvoiceLineRepository invoiceLineRepository,
+                                      IngredientRepository ingredientRepository) {
+        this.supplierItemMappingRepository = supplierItemMappingRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.invoiceLineRepository = invoiceLineRepository;
+        this.ingredientRepository = ingredientRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<MappedItem> lookup(String supplierCui, String sellerItemCode) {
+        if (supplierCui == null || sellerItemCode == null) {
+            return Optional.empty();
+        }
+        ensureLoaded();
+        return Optional.ofNullable(mappings.get(key(supplierCui, sellerItemCode)));
+    }
+
+    // Învață (sau corectează) maparea pentru fiecare linie cu cod de articol a facturii; întoarce numărul de linii învățate
+    public int learnFromInvoice(Long invoiceId) {
+        Invoice invoice = invoiceRepository.findById(invoiceId)
+            .orElseThrow(() -> new IllegalArgumentException("Factura nu există: " + invoiceId));
+        if (invoice.getSupplierCui() == null || invoice.getSupplierCui().isBlank()) {
+            throw new IllegalArgumentException("Factura " + invoice.getInvoiceNumber() + " nu are CUI-ul furnizorului");
+        }
+
+        int learned = 0;
+        for (InvoiceLine line : invoiceLineRepository.findByInvoiceId(invoiceId)) {
+            if (line.getSellerItemCode() == null || line.getSellerItemCode().isBlank() || line.getIngredient() == null) {
+                continue;
+            }
+            BigDecimal factor = line.getConversionFactor();
+            if (factor == null) {
+                factor = UnitCodes.conversionFactor(line.getUnitCode(), line.getIngredient().getUnitOfMeasure());
+            }
+            learn(invoice.getSupplierCui(), line.getSellerItemCode(), line.getIngredient().getId(),
+                line.getUnitCode(), factor != null ? factor : BigDecimal.ONE);
+            learned++;
+        }
+        System.out.println("Mapări furnizor învățate din factura " + invoice.getInvoiceNumber() + ": " + learned);
+        return learned;
+    }
+
+    public void learn(String supplierCui, String sellerItemCode, Long ingredientId, String unitCode, BigDecimal conversionFactor) {
+        String cui = normalizeCui(supplierCui);
+        String code = sellerItemCode.trim();
+        SupplierItemMapping mapping = supplierItemMappingRepository.findBySupplierCuiAndSellerItemCode(cui, code)
+            .orElseGet(SupplierItemMapping::new);
+        mapping.setSupplierCui(cui);
+        mapping.setSellerItemCode(code);
+        mapping.setIngredient(ingredientRepository.getReferenceById(ingredientId));
+        mapping.setUnitCode(unitCode);
+        mapping.setConversionFactor(conversionFactor);
+        supplierItemMappingRepository.save(mapping);
+
+        // Vizibilă la import doar după commit
+        MappedItem item = new MappedItem(ingredientId, unitCode, conversionFactor);
+        String key = key(cui, code);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (loaded) {
+                        mappings.put(key, item);
+                    }
+                }
+            });
+        } else if (loaded) {
+            mappings.put(key, item);
+        }
+    }
+
+    // Apelat la ștergerea unui ingredient: mapările lui ar lega liniile importurilor viitoare de un id inexistent
+    public void forgetIngredient(Long ingredientId) {
+        int deleted = supplierItemMappingRepository.deleteByIngredientId(ingredientId);
+        if (deleted == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictIngredient(ingredientId);
+                }
+            });
+        } else {
+            evictIngredient(ingredientId);
+        }
+    }
+
+    private void evictIngredient(Long ingredientId) {
+        mappings.values().removeIf(item -> ingredientId.equals(item.getIngredientId()));
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            Map<String, MappedItem> all = new HashMap<>();
+            for (Object[] row : supplierItemMappingRepository.findAllKeys()) {
+                all.put(key((String) row[0], (String) row[1]),
+                    new MappedItem((Long) row[2], (String) row[3], (BigDecimal) row[4]));
+            }
+            mappings.putAll(all);
+            loaded = true;
+            System.out.println("Mapări furnizor încărcate: " + all.size());
+        }
+    }
+
+    private static String key(String supplierCui, String sellerItemCode) {
+        return normalizeCui(supplierCui) + '\u0000' + sellerItemCode.trim();
+    }
+
+    // "RO 123456" și "123456" sunt același furnizor
+    private static String normalizeCui(String cui) {
+        String normalized = cui.replace(" ", "").toUpperCase(Locale.ROOT);
+        return normalized.startsWith("RO") ? normalized.substring(2) : normalized;
+    }
+}
@@ -0,0 +1,145 @@
+package com.bakerymanager.service;
+
+import jakarta.annotation.PreDestroy;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.Node;
+import javafx.util.Duration;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ceasul comun al interfeței și lucrul periodic al aplicației. Un singur Timeline de o secundă
+ * pe firul JavaFX deservește toți abonații (ceasuri, reîmprospătarea dashboard-ului, expirarea
+ * ecranelor din cache) și se oprește când nu mai are abonați; abonamentele legate de un nod se
+ * suspendă singure cât nodul nu e afișat. Lucrul care nu ține de interfață (backup) rulează pe
+ * un singur fir de fundal, cu câte o sarcină per nume, ca reîncărcarea unui ecran să nu le dubleze.
+ */
+@Service
+public class UiScheduler {
+
+    // Abonament la ceas; cancel() îl scoate definitiv
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final class TickSubscriber implements Subscription {
+        private final int everySeconds;
+        private final Runnable action;
+        private boolean cancelled;
+
+        private TickSubscriber(int everySeconds, Runnable action) {
+            this.everySeconds = Math.max(1, everySeconds);
+            this.action = action;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            detach(this);
+        }
+    }
+
+    // Folosite doar de pe firul JavaFX
+    private final List<TickSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private Timeline timeline;
+    private long ticks;
+
+    private final ScheduledExecutorService background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ui-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, ScheduledFuture<?>> backgroundTasks = new ConcurrentHashMap<>();
+
+    // Apelat pe firul JavaFX; action rulează tot acolo, o dată la everySeconds secunde
+    public Subscription onTick(int everySeconds, Runnable action) {
+        TickSubscriber subscriber = new TickSubscriber(everySeconds, action);
+        attach(subscriber);
+        return subscriber;
+    }
+
+    // Ca onTick, dar doar cât timp nodul e într-o scenă (ecranul lui e afișat)
+    public Subscription onTickWhileShowing(Node node, int everySeconds, Runnable action) {
+        TickSubscriber subscriber = new TickSubscriber(everySeconds, action);
+        node.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (newScene != null) {
+                attach(subscriber);
+            } else {
+                detach(subscriber);
+            }
+        });
+        if (node.getScene() != null) {
+            attach(subscriber);
+        }
+        return subscriber;
+    }
+
+    // Sarcină periodică pe firul de fundal; o sarcină cu același nume o înlocuiește pe cea veche
+    public void scheduleBackground(String name, long initialDelaySeconds, long periodSeconds, Runnable task) {
+        ScheduledFuture<?> future = background.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                System.err.println("Sarcina periodică " + name + " a eșuat: " + e.getMessage());
+            }
+        }, initialDelaySeconds, periodSeconds, TimeUnit.SECONDS);
+        ScheduledFuture<?> previous = backgroundTasks.put(name, future);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void attach(TickSubscriber subscriber) {
+        if (subscriber.cancelled || subscribers.contains(subscriber)) {
+            return;
+        }
+        subscribers.add(subscriber);
+        if (timeline == null) {
+            timeline = new Timeline(new KeyFrame(Duration.seconds(1), event -> tick()));
+            timeline.setCycleCount(Timeline.INDEFINITE);
+        }
+        if (timeline.getStatus() != Timeline.Status.RUNNING) {
+            timeline.play();
+        }
+        // Prima actualizare imediat, nu după o secundă
+        subscriber.action.run();
+    }
+
+    private void detach(TickSubscriber subscriber) {
+        subscribers.remove(subscriber);
+        if (subscribers.isEmpty() && timeline != null) {
+            timeline.stop();
+        }
+    }
+
+    private void tick() {
+        ticks++;
+        for (TickSubscriber subscriber : subscribers) {
+            if (ticks % subscriber.everySeconds == 0) {
+                try {
+                    subscriber.action.run();
+                } catch (Exception e) {
+                    System.err.println("Error in UI tick: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        background.shutdownNow();
+    }
+}
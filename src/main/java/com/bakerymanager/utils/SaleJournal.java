@@ -0,0 +1,179 @@
+package com.bakerymanager.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Jurnal append-only într-un fișier mapat în memorie, cu capacitate fixă.
+ * Antet: magic, versiune, secvența primei înregistrări, prima secvență necomisă.
+ * Înregistrare: lungime payload, CRC32C (secvență + payload), secvență, payload.
+ * Scrierea nu face fsync; paginile mapate supraviețuiesc căderii procesului,
+ * iar {@link #force()} e apelat de consumator în fundal.
+ */
+public class SaleJournal implements AutoCloseable {
+
+    private static final int MAGIC = 0x424B4A31; // "BKJ1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_HEADER_SIZE = 16;
+
+    private static final int OFFSET_BASE_SEQUENCE = 8;
+    private static final int OFFSET_COMMITTED_SEQUENCE = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final List<Entry> recovered = new ArrayList<>();
+
+    private int writeOffset;
+    private long nextSequence;
+    private long committedSequence;
+
+    public record Entry(long sequence, byte[] payload) {}
+
+    public SaleJournal(Path file, int capacity, long initialSequence) throws IOException {
+        if (capacity <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Capacitate jurnal prea mică: " + capacity);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int size = (int) Math.max(capacity, channel.size());
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+        if (buffer.getInt(0) != MAGIC) {
+            // Fișier nou: secvențele pornesc de la valoarea primită, ca să nu se repete după ștergerea fișierului
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            writeHeader(initialSequence, initialSequence);
+            writeOffset = HEADER_SIZE;
+            nextSequence = initialSequence;
+            committedSequence = initialSequence;
+            buffer.force();
+        } else {
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Versiune jurnal necunoscută: " + buffer.getInt(4));
+            }
+            scan();
+        }
+    }
+
+    // Parcurge înregistrările valide de la început; se oprește la prima înregistrare ruptă sau veche
+    private void scan() {
+        long expected = buffer.getLong(OFFSET_BASE_SEQUENCE);
+        committedSequence = Math.max(buffer.getLong(OFFSET_COMMITTED_SEQUENCE), expected);
+        int position = HEADER_SIZE;
+
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+            long sequence = buffer.getLong(position + 8);
+            if (sequence != expected) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_HEADER_SIZE, payload);
+            if (checksum(sequence, payload) != buffer.getInt(position + 4)) {
+                break;
+            }
+            if (sequence >= committedSequence) {
+                recovered.add(new Entry(sequence, payload));
+            }
+            position += RECORD_HEADER_SIZE + length;
+            expected++;
+        }
+
+        writeOffset = position;
+        nextSequence = expected;
+        if (committedSequence > nextSequence) {
+            committedSequence = nextSequence;
+        }
+    }
+
+    // Intrările necomise găsite la deschidere, în ordinea secvenței
+    public List<Entry> getRecoveredEntries() {
+        return List.copyOf(recovered);
+    }
+
+    public synchronized boolean hasRoomFor(int payloadLength) {
+        return writeOffset + RECORD_HEADER_SIZE + payloadLength <= buffer.capacity();
+    }
+
+    public synchronized long append(byte[] payload) {
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("Înregistrare goală");
+        }
+        if (!hasRoomFor(payload.length)) {
+            throw new IllegalStateException("Jurnalul de vânzări este plin");
+        }
+        long sequence = nextSequence;
+        // Lungimea se scrie ultima, ca o înregistrare neterminată să nu pară validă
+        buffer.putInt(writeOffset + 4, checksum(sequence, payload));
+        buffer.putLong(writeOffset + 8, sequence);
+        buffer.put(writeOffset + RECORD_HEADER_SIZE, payload);
+        buffer.putInt(writeOffset, payload.length);
+
+        writeOffset += RECORD_HEADER_SIZE + payload.length;
+        nextSequence++;
+        return sequence;
+    }
+
+    // Toate intrările cu secvența < nextUncommitted sunt persistate în baza de date
+    public synchronized void markCommitted(long nextUncommitted) {
+        if (nextUncommitted > committedSequence) {
+            committedSequence = Math.min(nextUncommitted, nextSequence);
+            buffer.putLong(OFFSET_COMMITTED_SEQUENCE, committedSequence);
+        }
+    }
+
+    // Când totul e comis, scrierea reîncepe de la începutul fișierului
+    public synchronized boolean resetIfDrained() {
+        if (committedSequence != nextSequence || writeOffset == HEADER_SIZE) {
+            return false;
+        }
+        writeHeader(nextSequence, nextSequence);
+        writeOffset = HEADER_SIZE;
+        buffer.force();
+        return true;
+    }
+
+    public synchronized long getPendingCount() {
+        return nextSequence - committedSequence;
+    }
+
+    public synchronized int getUsedBytes() {
+        return writeOffset;
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    private void writeHeader(long baseSequence, long committed) {
+        buffer.putLong(OFFSET_BASE_SEQUENCE, baseSequence);
+        buffer.putLong(OFFSET_COMMITTED_SEQUENCE, committed);
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(8).putLong(0, sequence));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
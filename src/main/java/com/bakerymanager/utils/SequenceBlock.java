@@ -0,0 +1,25 @@
+package com.bakerymanager.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Interval [first, end) rezervat dintr-o serie de numerotare; valorile se dau fără blocare
+public class SequenceBlock {
+
+    private final AtomicLong next;
+    private final long end;
+
+    public SequenceBlock(long first, long end) {
+        this.next = new AtomicLong(first);
+        this.end = end;
+    }
+
+    // Întoarce 0 când blocul e epuizat (valorile încep de la 1)
+    public long take() {
+        long value = next.getAndIncrement();
+        return value < end ? value : 0;
+    }
+
+    public long remaining() {
+        return Math.max(0, end - next.get());
+    }
+}
@@ -0,0 +1,31 @@
+package com.bakerymanager.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Arhivele descărcate din SPV conțin factura (<id>.xml) și semnătura ANAF (semnatura_<id>.xml)
+public final class SpvArchive {
+
+    private SpvArchive() {
+    }
+
+    public static boolean isArchive(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".zip");
+    }
+
+    // Poziționează arhiva pe intrarea cu factura; parserul citește direct din ZIP, fără fișiere temporare
+    public static InputStream openInvoiceEntry(ZipInputStream zip) throws IOException {
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            String name = entry.getName();
+            name = name.substring(name.lastIndexOf('/') + 1).toLowerCase(Locale.ROOT);
+            if (!entry.isDirectory() && name.endsWith(".xml") && !name.startsWith("semnatura")) {
+                return zip;
+            }
+        }
+        throw new IOException("Arhiva nu conține o factură XML");
+    }
+}
@@ -0,0 +1,37 @@
+package com.bakerymanager.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Durata fiecărei etape de pornire, măsurată de la pornirea procesului JVM; raportul se scrie o singură dată
+public final class StartupMetrics {
+
+    private record Phase(String name, long atMillis, String thread) {}
+
+    private static final long PROCESS_START = ProcessHandle.current().info().startInstant()
+        .map(instant -> instant.toEpochMilli())
+        .orElse(System.currentTimeMillis());
+
+    private static final List<Phase> phases = new ArrayList<>();
+    private static boolean reported;
+
+    private StartupMetrics() {
+    }
+
+    public static synchronized void mark(String phase) {
+        phases.add(new Phase(phase, System.currentTimeMillis() - PROCESS_START, Thread.currentThread().getName()));
+    }
+
+    // Etapele în ordinea în care s-au terminat; fiecare cu momentul față de pornirea JVM și firul pe care a rulat
+    public static synchronized void report() {
+        if (reported) {
+            return;
+        }
+        reported = true;
+        StringBuilder report = new StringBuilder("Pornire aplicație:");
+        phases.stream()
+            .sorted((a, b) -> Long.compare(a.atMillis(), b.atMillis()))
+            .forEach(phase -> report.append(String.format("%n  %-28s %6d ms  [%s]", phase.name(), phase.atMillis(), phase.thread())));
+        System.out.println(report);
+    }
+}
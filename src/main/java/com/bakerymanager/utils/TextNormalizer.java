@@ -0,0 +1,63 @@
+package com.bakerymanager.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Normalizare pentru căutări: fără diacritice și majuscule, doar litere și cifre separate de un spațiu
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    // "Făină albă 000" -> "faina alba 000"; ș/ş și ț/ţ se pliază la fel
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = Character.toLowerCase(decomposed.charAt(i));
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK || type == Character.ENCLOSING_MARK) {
+                continue; // accentele separate de NFD
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (pendingSpace && folded.length() > 0) {
+                    folded.append(' ');
+                }
+                folded.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return folded.toString();
+    }
+
+    public static List<String> tokens(String folded) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : folded.split(" ")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Trigrame pe fiecare cuvânt, cu spațiu la margini, ca începutul și sfârșitul cuvântului să conteze
+    public static Set<String> trigrams(String folded) {
+        Set<String> trigrams = new HashSet<>();
+        for (String token : tokens(folded)) {
+            String padded = " " + token + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,376 @@
+package com.bakerymanager.utils;
+
+import com.bakerymanager.dto.UBLInvoiceEvents;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cititor StAX pentru e-Factura (UBL 2.1 / CIUS-RO). Documentul e parcurs o singură dată:
+ * câmpurile de pe rădăcină se citesc direct, iar fiecare bloc de nivel 1 (furnizor, TVA, totaluri,
+ * o linie de factură) se încarcă într-un arbore mic, transformat în eveniment și apoi aruncat.
+ * Memoria folosită nu depinde de numărul de linii.
+ */
+public class UBLInvoiceReader {
+
+    // Handler-ul primește evenimentele în ordinea din schemă: antet, furnizor, reduceri, TVA, totaluri, linii
+    public interface Handler {
+        default void header(UBLInvoiceEvents.Header header) {}
+        default void supplier(UBLInvoiceEvents.Party supplier) {}
+        default void allowanceCharge(UBLInvoiceEvents.AllowanceCharge allowanceCharge) {}
+        default void taxSubtotal(UBLInvoiceEvents.TaxSubtotal taxSubtotal) {}
+        default void monetaryTotal(UBLInvoiceEvents.MonetaryTotal monetaryTotal) {}
+        default void line(UBLInvoiceEvents.Line line) {}
+        default void end() {}
+    }
+
+    private static final String CBC_NAMESPACE = "urn:oasis:names:specification:ubl:schema:xsd:CommonBasicComponents-2";
+    private static final String CAC_NAMESPACE = "urn:oasis:names:specification:ubl:schema:xsd:CommonAggregateComponents-2";
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        // Fără DTD și entități externe (XXE)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    public void read(InputStream input, Handler handler) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(input);
+            readDocument(reader, handler);
+        } catch (XMLStreamException e) {
+            throw new IOException("Fișier e-Factura invalid: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // fluxul e închis de apelant
+                }
+            }
+        }
+    }
+
+    // Citește toată factura în memorie; folosit de importul în masă, unde fișierele se parsează în paralel
+    public UBLInvoiceEvents.Document readAll(InputStream input) throws IOException {
+        UBLInvoiceEvents.Document document = new UBLInvoiceEvents.Document();
+        read(input, new Handler() {
+            @Override
+            public void header(UBLInvoiceEvents.Header header) { document.setHeader(header); }
+
+            @Override
+            public void supplier(UBLInvoiceEvents.Party supplier) { document.setSupplier(supplier); }
+
+            @Override
+            public void allowanceCharge(UBLInvoiceEvents.AllowanceCharge allowanceCharge) { document.getAllowanceCharges().add(allowanceCharge); }
+
+            @Override
+            public void taxSubtotal(UBLInvoiceEvents.TaxSubtotal taxSubtotal) { document.getTaxSubtotals().add(taxSubtotal); }
+
+            @Override
+            public void monetaryTotal(UBLInvoiceEvents.MonetaryTotal monetaryTotal) { document.setMonetaryTotal(monetaryTotal); }
+
+            @Override
+            public void line(UBLInvoiceEvents.Line line) { document.getLines().add(line); }
+        });
+        return document;
+    }
+
+    // Retrimite evenimentele unei facturi citite cu readAll, în aceeași ordine ca la citirea în flux
+    public static void replay(UBLInvoiceEvents.Document document, Handler handler) {
+        handler.header(document.getHeader() != null ? document.getHeader() : new UBLInvoiceEvents.Header());
+        if (document.getSupplier() != null) {
+            handler.supplier(document.getSupplier());
+        }
+        document.getAllowanceCharges().forEach(handler::allowanceCharge);
+        document.getTaxSubtotals().forEach(handler::taxSubtotal);
+        if (document.getMonetaryTotal() != null) {
+            handler.monetaryTotal(document.getMonetaryTotal());
+        }
+        document.getLines().forEach(handler::line);
+        handler.end();
+    }
+
+    private void readDocument(XMLStreamReader reader, Handler handler) throws XMLStreamException, IOException {
+        nextStartElement(reader);
+        if (!reader.isStartElement() || !"Invoice".equals(reader.getLocalName())) {
+            throw new IOException("Documentul nu este o factură UBL (lipsește elementul Invoice)");
+        }
+
+        UBLInvoiceEvents.Header header = new UBLInvoiceEvents.Header();
+        boolean headerSent = false;
+        BigDecimal taxAmount = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                break; // sfârșitul elementului Invoice
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            String name = reader.getLocalName();
+            if (CBC_NAMESPACE.equals(reader.getNamespaceURI())) {
+                // Câmpurile simple (CustomizationID, ID, IssueDate...) preced agregatele cac:*
+                if (isHeaderField(name)) {
+                    readHeaderField(header, name, reader.getElementText());
+                } else {
+                    skipElement(reader);
+                }
+                continue;
+            }
+            if (!CAC_NAMESPACE.equals(reader.getNamespaceURI())) {
+                // ext:UBLExtensions (semnături, date SPV) apare înaintea cbc:ID și nu încheie antetul
+                skipElement(reader);
+                continue;
+            }
+            if (!headerSent) {
+                handler.header(header);
+                headerSent = true;
+            }
+
+            switch (name) {
+                case "AccountingSupplierParty" -> handler.supplier(toParty(readNode(reader)));
+                case "AllowanceCharge" -> handler.allowanceCharge(toAllowanceCharge(readNode(reader)));
+                case "TaxTotal" -> {
+                    Node taxTotal = readNode(reader);
+                    // CIUS-RO poate avea un al doilea TaxTotal în moneda de contabilizare; se folosește doar primul
+                    if (taxAmount == null) {
+                        taxAmount = taxTotal.decimal("TaxAmount");
+                        for (Node subtotal : taxTotal.children("TaxSubtotal")) {
+                            handler.taxSubtotal(toTaxSubtotal(subtotal));
+                        }
+                    }
+                }
+                case "LegalMonetaryTotal" -> {
+                    UBLInvoiceEvents.MonetaryTotal total = toMonetaryTotal(readNode(reader));
+                    total.setTaxAmount(taxAmount);
+                    handler.monetaryTotal(total);
+                }
+                case "InvoiceLine" -> handler.line(toLine(readNode(reader)));
+                default -> skipElement(reader);
+            }
+        }
+
+        if (!headerSent) {
+            handler.header(header);
+        }
+        handler.end();
+    }
+
+    private static boolean isHeaderField(String name) {
+        return switch (name) {
+            case "ID", "IssueDate", "DueDate", "InvoiceTypeCode", "DocumentCurrencyCode", "Note" -> true;
+            default -> false;
+        };
+    }
+
+    private static void readHeaderField(UBLInvoiceEvents.Header header, String name, String value) {
+        String text = value.trim();
+        switch (name) {
+            case "ID" -> header.setInvoiceNumber(text);
+            case "IssueDate" -> header.setIssueDate(parseDate(text));
+            case "DueDate" -> header.setDueDate(parseDate(text));
+            case "InvoiceTypeCode" -> header.setInvoiceTypeCode(text);
+            case "DocumentCurrencyCode" -> header.setCurrency(text);
+            case "Note" -> header.setNote(header.getNote() == null ? text : header.getNote() + "\n" + text);
+            default -> { }
+        }
+    }
+
+    private static UBLInvoiceEvents.Party toParty(Node supplierParty) {
+        Node party = supplierParty.child("Party");
+        UBLInvoiceEvents.Party result = new UBLInvoiceEvents.Party();
+        if (party == null) {
+            return result;
+        }
+        result.setName(party.text("PartyName", "Name"));
+        result.setRegistrationName(party.text("PartyLegalEntity", "RegistrationName"));
+        result.setCompanyId(party.text("PartyLegalEntity", "CompanyID"));
+        result.setVatId(party.text("PartyTaxScheme", "CompanyID"));
+        return result;
+    }
+
+    private static UBLInvoiceEvents.AllowanceCharge toAllowanceCharge(Node node) {
+        UBLInvoiceEvents.AllowanceCharge result = new UBLInvoiceEvents.AllowanceCharge();
+        result.setCharge("true".equalsIgnoreCase(node.text("ChargeIndicator")));
+        result.setReasonCode(node.text("AllowanceChargeReasonCode"));
+        result.setReason(node.text("AllowanceChargeReason"));
+        result.setAmount(node.decimal("Amount"));
+        result.setBaseAmount(node.decimal("BaseAmount"));
+        result.setVatCategory(node.text("TaxCategory", "ID"));
+        result.setVatPercent(node.decimal("TaxCategory", "Percent"));
+        return result;
+    }
+
+    private static UBLInvoiceEvents.TaxSubtotal toTaxSubtotal(Node node) {
+        UBLInvoiceEvents.TaxSubtotal result = new UBLInvoiceEvents.TaxSubtotal();
+        result.setTaxableAmount(node.decimal("TaxableAmount"));
+        result.setTaxAmount(node.decimal("TaxAmount"));
+        result.setCategoryId(node.text("TaxCategory", "ID"));
+        result.setPercent(node.decimal("TaxCategory", "Percent"));
+        result.setExemptionReason(node.text("TaxCategory", "TaxExemptionReason"));
+        return result;
+    }
+
+    private static UBLInvoiceEvents.MonetaryTotal toMonetaryTotal(Node node) {
+        UBLInvoiceEvents.MonetaryTotal result = new UBLInvoiceEvents.MonetaryTotal();
+        result.setLineExtensionAmount(node.decimal("LineExtensionAmount"));
+        result.setTaxExclusiveAmount(node.decimal("TaxExclusiveAmount"));
+        result.setTaxInclusiveAmount(node.decimal("TaxInclusiveAmount"));
+        result.setAllowanceTotalAmount(node.decimal("AllowanceTotalAmount"));
+        result.setChargeTotalAmount(node.decimal("ChargeTotalAmount"));
+        result.setPrepaidAmount(node.decimal("PrepaidAmount"));
+        result.setPayableAmount(node.decimal("PayableAmount"));
+        return result;
+    }
+
+    private static UBLInvoiceEvents.Line toLine(Node node) {
+        UBLInvoiceEvents.Line line = new UBLInvoiceEvents.Line();
+        line.setLineId(node.text("ID"));
+        Node quantity = node.child("InvoicedQuantity");
+        if (quantity != null) {
+            line.setQuantity(parseDecimal(quantity.text));
+            line.setUnitCode(quantity.attribute("unitCode"));
+        }
+        line.setLineExtensionAmount(node.decimal("LineExtensionAmount"));
+        line.setItemName(node.text("Item", "Name"));
+        line.setSellerItemId(node.text("Item", "SellersItemIdentification", "ID"));
+        line.setVatCategory(node.text("Item", "ClassifiedTaxCategory", "ID"));
+        line.setVatPercent(node.decimal("Item", "ClassifiedTaxCategory", "Percent"));
+        line.setPriceAmount(node.decimal("Price", "PriceAmount"));
+        line.setBaseQuantity(node.decimal("Price", "BaseQuantity"));
+        for (Node allowanceCharge : node.children("AllowanceCharge")) {
+            line.getAllowanceCharges().add(toAllowanceCharge(allowanceCharge));
+        }
+        return line;
+    }
+
+    // Citește elementul curent cu tot subarborele; la ieșire cursorul e pe END_ELEMENT-ul lui
+    private static Node readNode(XMLStreamReader reader) throws XMLStreamException {
+        Node node = new Node(reader.getLocalName());
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            node.attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        StringBuilder text = new StringBuilder();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                node.children.add(readNode(reader));
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                text.append(reader.getText());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        node.text = text.toString().trim();
+        return node;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static void nextStartElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext() && !reader.isStartElement()) {
+            reader.next();
+        }
+    }
+
+    private static LocalDate parseDate(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal parseDecimal(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Subarbore mic, doar pentru un bloc de nivel 1 (ex. o linie de factură)
+    private static class Node {
+        private final String name;
+        private final Map<String, String> attributes = new HashMap<>(2);
+        private final List<Node> children = new ArrayList<>();
+        private String text = "";
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        Node child(String childName) {
+            for (Node child : children) {
+                if (child.name.equals(childName)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        List<Node> children(String childName) {
+            List<Node> result = new ArrayList<>();
+            for (Node child : children) {
+                if (child.name.equals(childName)) {
+                    result.add(child);
+                }
+            }
+            return result;
+        }
+
+        String attribute(String attributeName) {
+            return attributes.get(attributeName);
+        }
+
+        String text(String... path) {
+            Node current = this;
+            for (String step : path) {
+                current = current.child(step);
+                if (current == null) {
+                    return null;
+                }
+            }
+            return current.text.isEmpty() ? null : current.text;
+        }
+
+        BigDecimal decimal(String... path) {
+            return parseDecimal(text(path));
+        }
+    }
+}
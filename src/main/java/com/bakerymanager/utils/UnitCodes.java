@@ -0,0 +1,52 @@
+package com.bakerymanager.utils;
+
+import com.bakerymanager.entity.Ingredient;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Map;
+
+// Codurile de unitate UN/ECE Rec. 20 din e-Factura și conversia lor în unitățile de stoc ale ingredientelor
+public final class UnitCodes {
+
+    private static final Map<String, Ingredient.UnitOfMeasure> UNITS = Map.of(
+        "KGM", Ingredient.UnitOfMeasure.KG,
+        "GRM", Ingredient.UnitOfMeasure.GRAM,
+        "LTR", Ingredient.UnitOfMeasure.L,
+        "MLT", Ingredient.UnitOfMeasure.ML,
+        "H87", Ingredient.UnitOfMeasure.BUC,
+        "C62", Ingredient.UnitOfMeasure.BUC,
+        "XPP", Ingredient.UnitOfMeasure.BUC,
+        "EA", Ingredient.UnitOfMeasure.BUC
+    );
+
+    private static final BigDecimal THOUSAND = new BigDecimal("1000");
+    private static final BigDecimal THOUSANDTH = new BigDecimal("0.001");
+
+    private UnitCodes() {
+    }
+
+    public static Ingredient.UnitOfMeasure toUnitOfMeasure(String unitCode) {
+        return unitCode == null ? null : UNITS.get(unitCode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    // Factorul cu care se înmulțește cantitatea facturată; null dacă unitățile nu sunt convertibile (ex. sac -> kg)
+    public static BigDecimal conversionFactor(String unitCode, Ingredient.UnitOfMeasure stockUnit) {
+        Ingredient.UnitOfMeasure invoiced = toUnitOfMeasure(unitCode);
+        if (invoiced == null || stockUnit == null) {
+            return null;
+        }
+        if (invoiced == stockUnit) {
+            return BigDecimal.ONE;
+        }
+        if ((invoiced == Ingredient.UnitOfMeasure.KG && stockUnit == Ingredient.UnitOfMeasure.GRAM)
+            || (invoiced == Ingredient.UnitOfMeasure.L && stockUnit == Ingredient.UnitOfMeasure.ML)) {
+            return THOUSAND;
+        }
+        if ((invoiced == Ingredient.UnitOfMeasure.GRAM && stockUnit == Ingredient.UnitOfMeasure.KG)
+            || (invoiced == Ingredient.UnitOfMeasure.ML && stockUnit == Ingredient.UnitOfMeasure.L)) {
+            return THOUSANDTH;
+        }
+        return null;
+    }
+}
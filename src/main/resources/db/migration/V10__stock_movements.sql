@@ -0,0 +1,17 @@
+-- Recepția facturilor: fiecare mișcare de stoc păstrează factura care a produs-o.
+
+CREATE TABLE IF NOT EXISTS stock_movements (
+    id integer,
+    ingredient_id bigint not null,
+    invoice_id bigint,
+    movement_type varchar(20) not null,
+    quantity numeric(12,3) not null,
+    unit_price numeric(10,4),
+    created_at timestamp,
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_movements_ingredient_id ON stock_movements (ingredient_id);
+CREATE INDEX IF NOT EXISTS idx_stock_movements_invoice_id ON stock_movements (invoice_id);
+
+ALTER TABLE invoices ADD COLUMN posted_at timestamp;
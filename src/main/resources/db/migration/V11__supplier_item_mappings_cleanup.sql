@@ -0,0 +1,6 @@
+-- Mapările rămase de la ingrediente șterse (SQLite nu aplică FK aici): importurile le-ar lega de un id inexistent.
+-- De acum IngredientService.deleteIngredient le șterge împreună cu ingredientul.
+
+DELETE FROM supplier_item_mappings WHERE ingredient_id NOT IN (SELECT id FROM ingredients);
+
+CREATE INDEX IF NOT EXISTS idx_supplier_item_mappings_ingredient ON supplier_item_mappings (ingredient_id);
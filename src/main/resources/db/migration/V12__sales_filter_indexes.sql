@@ -0,0 +1,6 @@
+-- Filtrele din istoricul vânzărilor: paginarea keyset pe (sale_date, id) cu un operator sau o metodă de plată
+-- rară ar parcurge altfel idx_sales_sale_date rând cu rând. id e rowid-ul, deci e deja ultima coloană a indexului.
+-- Aceiași indecși servesc și listele de valori distincte pentru filtre (vezi SaleRepository).
+
+CREATE INDEX IF NOT EXISTS idx_sales_operator_date ON sales (operator, sale_date);
+CREATE INDEX IF NOT EXISTS idx_sales_payment_method_date ON sales (payment_method, sale_date);
@@ -0,0 +1,96 @@
+-- Schema de bază, identică cu cea generată anterior de Hibernate (ddl-auto=update).
+-- IF NOT EXISTS permite rularea atât pe baze noi, cât și pe baze existente.
+
+CREATE TABLE IF NOT EXISTS ingredients (
+    id integer,
+    barcode varchar(255),
+    created_at timestamp,
+    current_stock numeric(10,3) not null,
+    last_purchase_price numeric(10,2),
+    minimum_stock numeric(10,3),
+    name varchar(255) not null unique,
+    notes varchar(500),
+    unit_of_measure varchar(255) not null check (unit_of_measure in ('KG','L','BUC','GRAM','ML')),
+    updated_at timestamp,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id integer,
+    barcode varchar(255),
+    created_at timestamp,
+    is_active boolean,
+    minimum_stock numeric(10,3),
+    name varchar(255) not null unique,
+    physical_stock numeric(10,3) not null,
+    sale_price numeric(8,2) not null,
+    updated_at timestamp,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS recipe_items (
+    id integer,
+    required_quantity numeric(10,3) not null,
+    ingredient_id bigint not null,
+    product_id bigint not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS invoices (
+    id integer,
+    created_at timestamp,
+    currency varchar(255),
+    import_date timestamp,
+    invoice_date timestamp not null,
+    invoice_number varchar(255) not null unique,
+    is_spv_imported boolean,
+    number_of_lines integer,
+    source_file_name varchar(255),
+    status varchar(255),
+    supplier_cui varchar(255),
+    supplier_name varchar(255) not null,
+    total_amount numeric(12,2) not null,
+    updated_at timestamp,
+    xml_file_path varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS invoice_lines (
+    id integer,
+    product_name varchar(255) not null,
+    quantity numeric(10,3) not null,
+    total_price numeric(12,2) not null,
+    unit_price numeric(10,4) not null,
+    ingredient_id bigint not null,
+    invoice_id bigint not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS sales (
+    id integer,
+    cash_received numeric(12,2),
+    change_amount numeric(12,2),
+    created_at timestamp,
+    customer_name varchar(255),
+    invoice_number varchar(255) unique,
+    notes varchar(255),
+    operator varchar(255),
+    payment_method varchar(255),
+    sale_date timestamp not null,
+    total_amount numeric(12,2) not null,
+    updated_at timestamp,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS sale_items (
+    id integer,
+    barcode varchar(255),
+    created_at timestamp,
+    product_name varchar(255) not null,
+    quantity numeric(10,3) not null,
+    total_price numeric(12,2) not null,
+    unit_price numeric(8,2) not null,
+    product_id bigint not null,
+    sale_id bigint not null,
+    primary key (id)
+);
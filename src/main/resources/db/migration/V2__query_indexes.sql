@@ -0,0 +1,14 @@
+-- Indecși pentru interogările pe intervale de date, rapoarte și căutarea după cod de bare.
+
+CREATE INDEX IF NOT EXISTS idx_sales_sale_date ON sales (sale_date);
+
+CREATE INDEX IF NOT EXISTS idx_sale_items_sale_id ON sale_items (sale_id);
+CREATE INDEX IF NOT EXISTS idx_sale_items_product_id ON sale_items (product_id);
+
+CREATE INDEX IF NOT EXISTS idx_invoice_lines_invoice_id ON invoice_lines (invoice_id);
+CREATE INDEX IF NOT EXISTS idx_invoice_lines_ingredient_id ON invoice_lines (ingredient_id);
+
+CREATE INDEX IF NOT EXISTS idx_recipe_items_product_id ON recipe_items (product_id);
+CREATE INDEX IF NOT EXISTS idx_recipe_items_ingredient_id ON recipe_items (ingredient_id);
+
+CREATE INDEX IF NOT EXISTS idx_products_barcode ON products (barcode);
@@ -0,0 +1,11 @@
+-- Ziua comercială a vânzării, în ora locală, stocată ca INTEGER (milisecunde la miezul nopții local),
+-- la fel cum scrie Hibernate/sqlite-jdbc coloanele LocalDate. Permite filtre pe zi fără DATE(sale_date).
+
+ALTER TABLE sales ADD COLUMN sale_day date;
+
+UPDATE sales
+SET sale_day = CAST(strftime('%s', date(sale_date / 1000, 'unixepoch', 'localtime'), 'utc') AS INTEGER) * 1000
+WHERE sale_day IS NULL;
+
+-- total_amount inclus pentru ca SUM-ul pe o zi să fie servit doar din index
+CREATE INDEX IF NOT EXISTS idx_sales_sale_day ON sales (sale_day, total_amount);
@@ -0,0 +1,21 @@
+-- Agregat zilnic pe produs (număr bonuri, cantitate, încasări), întreținut la fiecare vânzare.
+-- Rapoartele pe luni/ani citesc de aici în loc să însumeze toate liniile de vânzare.
+
+CREATE TABLE IF NOT EXISTS daily_sales_rollup (
+    id integer,
+    business_day date not null,
+    product_id bigint not null,
+    product_name varchar(255) not null,
+    sale_count integer not null,
+    quantity numeric(14,3) not null,
+    revenue numeric(14,2) not null,
+    primary key (id),
+    unique (business_day, product_id)
+);
+
+INSERT INTO daily_sales_rollup (business_day, product_id, product_name, sale_count, quantity, revenue)
+SELECT s.sale_day, si.product_id, MAX(si.product_name), COUNT(DISTINCT s.id),
+       ROUND(SUM(si.quantity), 3), ROUND(SUM(si.total_price), 2)
+FROM sale_items si
+JOIN sales s ON s.id = si.sale_id
+GROUP BY s.sale_day, si.product_id;
@@ -0,0 +1,9 @@
+-- Contoare pentru numerele de bon/factură, rezervate în blocuri de NumberSequenceService.
+-- next_value este pragul rezervat: toate valorile mai mici au fost deja date unei instanțe.
+
+CREATE TABLE IF NOT EXISTS number_sequences (
+    series varchar(64) not null,
+    next_value bigint not null,
+    updated_at timestamp,
+    primary key (series)
+);
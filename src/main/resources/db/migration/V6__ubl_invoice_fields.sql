@@ -0,0 +1,29 @@
+-- Câmpurile CIUS-RO citite de UBLInvoiceReader: TVA, reduceri, scadență, coduri de unitate pe linie.
+
+ALTER TABLE invoices ADD COLUMN due_date date;
+ALTER TABLE invoices ADD COLUMN invoice_type_code varchar(8);
+ALTER TABLE invoices ADD COLUMN tax_exclusive_amount numeric(12,2);
+ALTER TABLE invoices ADD COLUMN vat_amount numeric(12,2);
+ALTER TABLE invoices ADD COLUMN allowance_total numeric(12,2);
+ALTER TABLE invoices ADD COLUMN charge_total numeric(12,2);
+
+ALTER TABLE invoice_lines ADD COLUMN line_number varchar(32);
+ALTER TABLE invoice_lines ADD COLUMN unit_code varchar(8);
+ALTER TABLE invoice_lines ADD COLUMN seller_item_code varchar(100);
+ALTER TABLE invoice_lines ADD COLUMN vat_category varchar(8);
+ALTER TABLE invoice_lines ADD COLUMN vat_percent numeric(5,2);
+ALTER TABLE invoice_lines ADD COLUMN allowance_amount numeric(12,2);
+
+-- Defalcarea TVA pe cote (cac:TaxSubtotal)
+CREATE TABLE IF NOT EXISTS invoice_vat_breakdown (
+    id integer,
+    invoice_id bigint not null,
+    category_id varchar(8),
+    percent numeric(5,2),
+    taxable_amount numeric(12,2) not null,
+    tax_amount numeric(12,2) not null,
+    exemption_reason varchar(255),
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_invoice_vat_breakdown_invoice_id ON invoice_vat_breakdown (invoice_id);
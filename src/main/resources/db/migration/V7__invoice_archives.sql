@@ -0,0 +1,13 @@
+-- Arhivele ZIP descărcate din SPV (factura + semnătura ANAF), păstrate nemodificate pentru audit.
+
+CREATE TABLE IF NOT EXISTS invoice_archives (
+    id integer,
+    invoice_id bigint not null,
+    file_name varchar(255) not null,
+    content blob not null,
+    size_bytes bigint not null,
+    imported_at timestamp,
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_invoice_archives_invoice_id ON invoice_archives (invoice_id);
@@ -0,0 +1,18 @@
+-- Codul de articol al furnizorului (SellersItemIdentification) legat de ingredientul nostru, învățat din importuri confirmate.
+
+CREATE TABLE IF NOT EXISTS supplier_item_mappings (
+    id integer,
+    supplier_cui varchar(32) not null,
+    seller_item_code varchar(100) not null,
+    ingredient_id bigint not null,
+    unit_code varchar(8),
+    conversion_factor numeric(12,6) not null,
+    created_at timestamp,
+    updated_at timestamp,
+    primary key (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_supplier_item_mappings_key ON supplier_item_mappings (supplier_cui, seller_item_code);
+
+-- Cantitatea în unitatea de stoc = quantity * conversion_factor (null: se deduce din unit_code)
+ALTER TABLE invoice_lines ADD COLUMN conversion_factor numeric(12,6);
@@ -0,0 +1,5 @@
+-- SHA-256 al fișierului importat (XML sau ZIP SPV): același fișier nu se mai importă a doua oară.
+
+ALTER TABLE invoices ADD COLUMN source_sha256 varchar(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_invoices_source_sha256 ON invoices (source_sha256);
@@ -0,0 +1,146 @@
+package com.bakerymanager.service;
+
+import com.bakerymanager.dto.IngredientMatch;
+import com.bakerymanager.entity.Ingredient;
+import com.bakerymanager.repository.IngredientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IngredientMatchIndexTest {
+
+    // Pragul implicit bakery.ingredients.match-threshold
+    private static final double MATCH_THRESHOLD = 0.75;
+    private static final double SEARCH_MIN_SCORE = 0.35;
+
+    private IngredientMatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        IngredientRepository repository = mock(IngredientRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+            ingredient(1L, "Făină albă 000"),
+            ingredient(2L, "Făină albă 650"),
+            ingredient(3L, "Zahăr tos"),
+            ingredient(4L, "Unt 82%"),
+            ingredient(5L, "Drojdie proaspătă"),
+            ingredient(6L, "Ulei floarea-soarelui")));
+        index = new IngredientMatchIndex(repository);
+    }
+
+    @Test
+    void sameFoldedNameIsExactMatch() {
+        IngredientMatch match = index.bestMatch("FAINA ALBA 000", MATCH_THRESHOLD).orElseThrow();
+        assertEquals(1L, match.getIngredientId());
+        assertEquals(1.0, match.getScore());
+    }
+
+    @Test
+    void fuzzyMatchToleratesSpellingVariants() {
+        IngredientMatch match = index.bestMatch("Drojdie proaspata de panificatie", 0.5).orElseThrow();
+        assertEquals(5L, match.getIngredientId());
+        assertTrue(match.getScore() < 1.0);
+        assertEquals(Optional.empty(), index.bestMatch("Ciocolată neagră", MATCH_THRESHOLD));
+    }
+
+    // Ambalajul adăugat de furnizor nu e un conflict: nu trebuie creat un ingredient duplicat
+    @Test
+    void packSizeAddedBySupplierStillMatches() {
+        assertBestMatch(1L, "FAINA ALBA 000 50KG");
+        assertBestMatch(4L, "Unt 82% 10kg");
+        assertBestMatch(3L, "Zahar tos 50 kg");
+    }
+
+    // "000" și "650" sunt făinuri diferite: scorul se înjumătățește, sub prag
+    @Test
+    void conflictingNumbersDoNotMatch() {
+        List<IngredientMatch> matches = index.findMatches("Faina alba 000 50kg", 2, 0);
+        assertEquals(1L, matches.get(0).getIngredientId());
+        assertEquals(2L, matches.get(1).getIngredientId());
+        assertTrue(matches.get(1).getScore() < MATCH_THRESHOLD);
+        assertEquals(Optional.empty(), index.bestMatch("Unt 65%", MATCH_THRESHOLD));
+    }
+
+    // Căutarea din inventar găsește cuvinte tastate pe jumătate, înaintea candidaților aproximativi
+    @Test
+    void searchFindsPartialWords() {
+        assertEquals(List.of(1L, 2L), ids(index.search("fa", 100, SEARCH_MIN_SCORE)));
+        assertEquals(List.of(1L, 2L), ids(index.search("fain", 100, SEARCH_MIN_SCORE)));
+        assertEquals(List.of(3L), ids(index.search("zah", 100, SEARCH_MIN_SCORE)));
+        assertEquals(List.of(6L), ids(index.search("soare", 100, SEARCH_MIN_SCORE)));
+        assertEquals(2L, ids(index.search("650", 100, SEARCH_MIN_SCORE)).get(0));
+        assertEquals(3L, ids(index.search("zahar tosat", 100, SEARCH_MIN_SCORE)).get(0));
+    }
+
+    @Test
+    void putAndRemoveUpdateLookups() {
+        index.bestMatch("unt", 0); // încărcare
+        index.put(7L, "Ciocolată neagră 70%");
+        assertBestMatch(7L, "Ciocolata neagra 70% 2.5kg");
+
+        index.remove(7L);
+        assertEquals(Optional.empty(), index.bestMatch("Ciocolata neagra 70%", MATCH_THRESHOLD));
+    }
+
+    // Căutările concurente citesc mereu un instantaneu complet, chiar în timpul modificărilor
+    @Test
+    void lookupsNeverSeePartialIndexDuringWrites() throws Exception {
+        index.bestMatch("unt", 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int reader = 0; reader < 3; reader++) {
+                readers.add(executor.submit(() -> {
+                    int misses = 0;
+                    for (int i = 0; i < 2000; i++) {
+                        if (index.bestMatch("Zahar tos", MATCH_THRESHOLD).isEmpty()) {
+                            misses++;
+                        }
+                    }
+                    return misses;
+                }));
+            }
+            Future<?> writer = executor.submit(() -> {
+                for (long id = 100; id < 600; id++) {
+                    index.put(id, "Ingredient " + id);
+                    index.remove(id - 1);
+                }
+            });
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<Integer> reader : readers) {
+                assertEquals(0, reader.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertBestMatch(Long expectedId, String name) {
+        IngredientMatch match = index.bestMatch(name, MATCH_THRESHOLD).orElseThrow(
+            () -> new AssertionError("Nicio potrivire pentru " + name));
+        assertEquals(expectedId, match.getIngredientId(), name);
+    }
+
+    private static List<Long> ids(List<IngredientMatch> matches) {
+        return matches.stream().map(IngredientMatch::getIngredientId).toList();
+    }
+
+    private static Ingredient ingredient(Long id, String name) {
+        Ingredient ingredient = new Ingredient();
+        ingredient.setId(id);
+        ingredient.setName(name);
+        return ingredient;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bakerymanager.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextNormalizerTest {
+
+    @Test
+    void foldRemovesDiacriticsCaseAndPunctuation() {
+        assertEquals("faina alba 000", TextNormalizer.fold("Făină  ALBĂ-000"));
+        assertEquals("unt 82 10kg", TextNormalizer.fold("Unt 82% 10kg"));
+        assertEquals("", TextNormalizer.fold(null));
+    }
+
+    // Facturile folosesc și formele cu virgulă (ș, ț), și pe cele cu sedilă (ş, ţ)
+    @Test
+    void foldTreatsCommaAndCedillaFormsAlike() {
+        assertEquals("sosete tata", TextNormalizer.fold("Șosețe Țață"));
+        assertEquals("sosete tata", TextNormalizer.fold("Şoseţe Ţaţă"));
+        assertEquals(TextNormalizer.fold("ștrudel"), TextNormalizer.fold("ştrudel"));
+    }
+
+    @Test
+    void trigramsArePaddedPerToken() {
+        assertEquals(List.of("unt", "82"), TextNormalizer.tokens("unt 82"));
+        assertEquals(Set.of(" un", "unt", "nt ", " 82", "82 "), TextNormalizer.trigrams("unt 82"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.bakerymanager.utils;
+
+import com.bakerymanager.dto.UBLInvoiceEvents;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class UBLInvoiceReaderTest {
+
+    // Facturile semnate din SPV încep cu ext:UBLExtensions, înaintea câmpurilor cbc ale antetului
+    @Test
+    void headerIsReadAfterUblExtensions() throws Exception {
+        List<String> events = new ArrayList<>();
+        // Valorile de la momentul evenimentului: handler-ul din import le folosește imediat
+        List<Object> headerValues = new ArrayList<>();
+
+        try (InputStream input = getClass().getResourceAsStream("/ubl/invoice_with_extensions.xml")) {
+            assertNotNull(input);
+            new UBLInvoiceReader().read(input, new UBLInvoiceReader.Handler() {
+                @Override
+                public void header(UBLInvoiceEvents.Header header) {
+                    events.add("header");
+                    headerValues.add(header.getInvoiceNumber());
+                    headerValues.add(header.getIssueDate());
+                    headerValues.add(header.getDueDate());
+                    headerValues.add(header.getCurrency());
+                }
+
+                @Override
+                public void supplier(UBLInvoiceEvents.Party supplier) {
+                    events.add("supplier");
+                }
+
+                @Override
+                public void line(UBLInvoiceEvents.Line line) {
+                    events.add("line");
+                }
+            });
+        }
+
+        assertEquals(List.of("header", "supplier", "line"), events);
+        assertEquals(List.of("MT-2024-0042", LocalDate.of(2024, 3, 15), LocalDate.of(2024, 4, 14), "RON"), headerValues);
+    }
+
+    @Test
+    void readAllKeepsHeaderAndLinesAfterUblExtensions() throws Exception {
+        UBLInvoiceEvents.Document document;
+        try (InputStream input = getClass().getResourceAsStream("/ubl/invoice_with_extensions.xml")) {
+            document = new UBLInvoiceReader().readAll(input);
+        }
+
+        assertEquals("MT-2024-0042", document.getInvoiceNumber());
+        assertEquals("RO123456", document.getSupplier().getCui());
+        assertEquals(1, document.getLines().size());
+        assertEquals("Făină albă 000", document.getLines().get(0).getItemName());
+        assertEquals(0, new BigDecimal("109.00").compareTo(document.getMonetaryTotal().getPayableAmount()));
+    }
+}